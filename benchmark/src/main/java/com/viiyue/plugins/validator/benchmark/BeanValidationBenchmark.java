@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.viiyue.plugins.validator.Validator;
+import com.viiyue.plugins.validator.benchmark.Beans.Order;
+import com.viiyue.plugins.validator.benchmark.Beans.User;
+import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+
+/**
+ * {@code Validator.validateBean} on flat and nested {@code @Valid} beans.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class BeanValidationBenchmark {
+
+	private final Locale locale = Locale.ENGLISH;
+
+	private User validUser;
+	private User invalidUser;
+	private Order validOrder;
+	private Order invalidOrder;
+
+	@Setup
+	public void setup() {
+		Beans.configure();
+		validUser = Beans.validUser();
+		invalidUser = Beans.invalidUser();
+		validOrder = Beans.validOrder();
+		invalidOrder = Beans.invalidOrder();
+	}
+
+	@Benchmark
+	public ValidatedResult flatPassed() {
+		return Validator.validateBean( validUser, locale );
+	}
+
+	@Benchmark
+	public ValidatedResult flatRejected() {
+		return Validator.validateBean( invalidUser, locale );
+	}
+
+	@Benchmark
+	public ValidatedResult nestedPassed() {
+		return Validator.validateBean( validOrder, locale );
+	}
+
+	@Benchmark
+	public ValidatedResult nestedRejected() {
+		return Validator.validateBean( invalidOrder, locale );
+	}
+
+}
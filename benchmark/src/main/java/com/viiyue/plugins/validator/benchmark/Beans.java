@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import java.util.Locale;
+
+import com.viiyue.plugins.validator.Validator;
+import com.viiyue.plugins.validator.annotation.Label;
+import com.viiyue.plugins.validator.annotation.Valid;
+import com.viiyue.plugins.validator.constraints.Email;
+import com.viiyue.plugins.validator.constraints.Max;
+import com.viiyue.plugins.validator.constraints.Min;
+import com.viiyue.plugins.validator.constraints.NotBlank;
+import com.viiyue.plugins.validator.constraints.Range;
+import com.viiyue.plugins.validator.constraints.Required;
+import com.viiyue.plugins.validator.constraints.Rules;
+import com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion;
+
+/**
+ * The beans and the shared setup of the benchmarks.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+final class Beans {
+
+	private Beans() {}
+
+	private static boolean configured;
+
+	/**
+	 * The configuration is only allowed once for each factory, and several
+	 * benchmarks may run in the same JVM.
+	 */
+	static synchronized void configure() {
+		if ( !configured ) {
+			Validator.configuration( ContextConfigurion.builder().defaultLanguage( Locale.ENGLISH ).build() );
+			configured = true;
+		}
+	}
+
+	static User validUser() {
+		User user = new User();
+		user.setName( "tangxbai" );
+		user.setAge( 28 );
+		user.setScore( 95L );
+		user.setEmail( "tangxbai@example.com" );
+		user.setCode( "ABC" );
+		return user;
+	}
+
+	static User invalidUser() {
+		User user = new User();
+		user.setName( "a very very long name" );
+		user.setAge( 3 );
+		user.setScore( 500L );
+		user.setEmail( "not an email" );
+		user.setCode( "A" );
+		return user;
+	}
+
+	static Order validOrder() {
+		Order order = new Order();
+		order.setNumber( "20200101" );
+		order.setBuyer( validUser() );
+		order.setReceiver( validUser() );
+		return order;
+	}
+
+	static Order invalidOrder() {
+		Order order = new Order();
+		order.setNumber( " " );
+		order.setBuyer( invalidUser() );
+		order.setReceiver( validUser() );
+		return order;
+	}
+
+	/**
+	 * Flat bean with field constraints and a rule template
+	 */
+	public static class User {
+
+		@Label( "Name" )
+		@Required
+		@Max( 16 )
+		private String name;
+
+		@Min( 18 )
+		@Max( 60 )
+		private int age;
+
+		@Range( min = 0, max = 100 )
+		private long score;
+
+		@Email
+		private String email;
+
+		@Rules( "required;range(2,4)" )
+		private String code;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName( String name ) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge( int age ) {
+			this.age = age;
+		}
+
+		public long getScore() {
+			return score;
+		}
+
+		public void setScore( long score ) {
+			this.score = score;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail( String email ) {
+			this.email = email;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public void setCode( String code ) {
+			this.code = code;
+		}
+
+	}
+
+	/**
+	 * Bean with nested {@code @Valid} beans
+	 */
+	public static class Order {
+
+		@Required
+		@NotBlank
+		private String number;
+
+		@Valid
+		@Required
+		private User buyer;
+
+		@Valid
+		private User receiver;
+
+		public String getNumber() {
+			return number;
+		}
+
+		public void setNumber( String number ) {
+			this.number = number;
+		}
+
+		public User getBuyer() {
+			return buyer;
+		}
+
+		public void setBuyer( User buyer ) {
+			this.buyer = buyer;
+		}
+
+		public User getReceiver() {
+			return receiver;
+		}
+
+		public void setReceiver( User receiver ) {
+			this.receiver = receiver;
+		}
+
+	}
+
+}
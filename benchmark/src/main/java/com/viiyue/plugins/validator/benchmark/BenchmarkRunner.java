@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with the GC profiler, so that every scenario reports
+ * both the throughput and the allocation rate ({@code gc.alloc.rate.norm}).
+ * 
+ * <pre>
+ * java -jar benchmarks.jar                       # all benchmarks
+ * java -jar benchmarks.jar BeanValidationBenchmark  # matched benchmarks only
+ * </pre>
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {}
+
+	public static void main( String [] args ) throws RunnerException {
+		OptionsBuilder builder = new OptionsBuilder();
+		if ( args.length == 0 ) {
+			builder.include( BenchmarkRunner.class.getPackage().getName() + ".*Benchmark" );
+		}
+		for ( String include : args ) {
+			builder.include( include );
+		}
+		Options options = builder.addProfiler( GCProfiler.class ).build();
+		new Runner( options ).run();
+	}
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.viiyue.plugins.validator.Validator;
+import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+
+/**
+ * Every built-in handler on a passing and a failing input. Each scenario is
+ * a single fragment rule, so the compiled rule is cached and the time is
+ * dominated by the handler and, for the failing input, the message. The
+ * {@code equals} handler is left out because it needs the bean element, and
+ * so is {@code url} because it cannot accept a valid URL without a port
+ * argument yet.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class HandlerBenchmark {
+
+	/**
+	 * Scenario name, see {@link #setup()}.
+	 */
+	@Param( { 
+		"required", "not-blank", "not-empty", "contains", "length", "max", "min", "range", 
+		"pattern", "password", "prefixs", "email", "mobile" 
+	} )
+	private String handler;
+
+	private final Locale locale = Locale.ENGLISH;
+
+	private String rule;
+	private Object passing;
+	private Object failing;
+
+	@Setup
+	public void setup() {
+		Beans.configure();
+		switch ( handler ) {
+			case "required" : scenario( "required", "value", null ); break;
+			case "not-blank" : scenario( "not-blank", "value", "  " ); break;
+			case "not-empty" : scenario( "not-empty", "value", "" ); break;
+			case "contains" : scenario( "contains('a', 'b', 'c')", "b", "d" ); break;
+			case "length" : scenario( "length(5)", "value", "values" ); break;
+			case "max" : scenario( "max(10)", 5, 50 ); break;
+			case "min" : scenario( "min(10)", 50, 5 ); break;
+			case "range" : scenario( "range(1, 10)", 5L, 50L ); break;
+			case "pattern" : scenario( "pattern(/^\\d+$/)", "12345", "12a45" ); break;
+			case "password" : scenario( "password('strong')", "Abc@1234", "abc" ); break;
+			case "prefixs" : scenario( "prefixs('ab', 'abc')", "abcd", "xyz" ); break;
+			case "email" : scenario( "email", "tangxbai@example.com", "tangxbai" ); break;
+			case "mobile" : scenario( "mobile", "13800138000", "12345" ); break;
+			default : throw new IllegalArgumentException( handler );
+		}
+	}
+
+	private void scenario( String rule, Object passing, Object failing ) {
+		this.rule = rule;
+		this.passing = passing;
+		this.failing = failing;
+	}
+
+	@Benchmark
+	public ValidatedResult passed() {
+		return Validator.validateValue( passing, rule, "Value", locale );
+	}
+
+	@Benchmark
+	public ValidatedResult rejected() {
+		return Validator.validateValue( failing, rule, "Value", locale );
+	}
+
+}
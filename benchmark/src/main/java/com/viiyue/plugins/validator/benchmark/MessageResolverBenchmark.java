@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import static com.viiyue.plugins.validator.common.Constants.DEFAULT_MESSAGE_KEY_PREFIX;
+import static com.viiyue.plugins.validator.common.Constants.DEFAULT_MESSAGE_LANGUAGES;
+import static com.viiyue.plugins.validator.common.Constants.DEFAULT_RESOURCE_NAME;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.viiyue.plugins.validator.scripting.message.DefaultMessageResolver;
+
+/**
+ * {@code DefaultMessageResolver.resolve} across the bundled locales, a
+ * regional variant that falls back to its language, and a locale without
+ * any resources that falls back to the default catalog.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class MessageResolverBenchmark {
+
+	@Param( { "zh-CN", "zh-TW", "en", "en-US", "de", "fr" } )
+	private String languageTag;
+
+	@Param( { "max.java.lang.String", "unknown" } )
+	private String key;
+
+	private Locale locale;
+	private String messageKey;
+	private DefaultMessageResolver resolver;
+
+	@Setup
+	public void setup() {
+		locale = Locale.forLanguageTag( languageTag );
+		resolver = new DefaultMessageResolver( DEFAULT_RESOURCE_NAME, DEFAULT_MESSAGE_KEY_PREFIX, DEFAULT_MESSAGE_LANGUAGES );
+		resolver.addResourceBundle( DEFAULT_RESOURCE_NAME, DEFAULT_MESSAGE_LANGUAGES );
+		resolver.preloadCatalogs();
+		messageKey = resolver.getMessageKey( key );
+	}
+
+	@Benchmark
+	public String resolve() {
+		return resolver.resolve( messageKey, locale );
+	}
+
+}
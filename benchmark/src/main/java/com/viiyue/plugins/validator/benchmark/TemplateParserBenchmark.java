@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.scripting.parser.TemplateRuleParser;
+
+/**
+ * {@code TemplateRuleParser.parse} in strict and loose mode, without any
+ * cache in front of it.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class TemplateParserBenchmark {
+
+	@Param( { "true", "false" } )
+	private boolean strictMode;
+
+	@Param( { 
+		"required", 
+		"required;max(16);min(2)", 
+		"required<Create>;range(1.5, 10L)<<{0} to {1}>>;contains('a', 'b', 'c');pattern(/^\\d{3}$/)" 
+	} )
+	private String template;
+
+	private TemplateRuleParser parser;
+	private String cleaned;
+
+	@Setup
+	public void setup() {
+		parser = new TemplateRuleParser( strictMode );
+		cleaned = parser.clean( template );
+	}
+
+	@Benchmark
+	public List<Fragment> parse() {
+		return parser.parse( cleaned );
+	}
+
+}
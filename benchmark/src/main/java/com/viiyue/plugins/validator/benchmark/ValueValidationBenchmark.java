@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.viiyue.plugins.validator.Validator;
+import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+
+/**
+ * {@code Validator.validateValue} with cached templates, and with templates
+ * that are never seen before, which have to be parsed and compiled on every
+ * call.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ValueValidationBenchmark {
+
+	private static final String RULES = "required;max(16);pattern(/^[a-z]+$/)";
+
+	private final Locale locale = Locale.ENGLISH;
+	private long sequence;
+
+	@Setup
+	public void setup() {
+		Beans.configure();
+	}
+
+	@Benchmark
+	public ValidatedResult cachedPassed() {
+		return Validator.validateValue( "tangxbai", RULES, "Name", locale );
+	}
+
+	@Benchmark
+	public ValidatedResult cachedRejected() {
+		return Validator.validateValue( "Tangxbai-2020", RULES, "Name", locale );
+	}
+
+	@Benchmark
+	public ValidatedResult uncached() {
+		return Validator.validateValue( "tangxbai", "required;max(" + ( ++ sequence ) + ")", "Name", locale );
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.viiyue.plugins.validator.metadata.BoundFragment;
+import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+import com.viiyue.plugins.validator.scripting.configuration.ValidationMode;
+
+/**
+ * <p>
+ * The reusable handle of the compiled validation rules, the rules are
+ * cleaned, parsed, verified and bound to the handlers only once, so
+ * validating values with it skips the template cleaning and the cache
+ * lookups of {@link Validator#validateValue(Object, String, String, Locale, Class...)}.
+ * 
+ * <pre>
+ * CompiledRules rules = Validator.prepare( "required;max(32)", "Name" );
+ * for ( String name : names ) {
+ *     ValidatedResult result = rules.validate( name, locale );
+ * }
+ * </pre>
+ * 
+ * <p>
+ * The handle keeps the handlers bound when it was prepared, prepare it
+ * again after registering new handlers. With a custom validation factory,
+ * the handle simply delegates to {@link ValidatorFactory#validateValue(Object, String, String, Locale, Class...)}.
+ * 
+ * <p>#ThreadSafe#</p>
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see Validator#prepare(String, String, Class...)
+ */
+public final class CompiledRules {
+
+	private final ValidatorFactory factory;
+	private final String rules;
+	private final String labelText;
+	private final Class<?> [] groups;
+	private final List<BoundFragment> fragments;
+
+	CompiledRules( ValidatorFactory factory, String rules, String labelText, Class<?> [] groups, List<BoundFragment> fragments ) {
+		this.factory = factory;
+		this.rules = rules;
+		this.labelText = labelText;
+		this.groups = groups;
+		this.fragments = fragments;
+	}
+
+	/**
+	 * @return the original rule template
+	 */
+	public String getRules() {
+		return rules;
+	}
+
+	/**
+	 * Validate the value with the default locale
+	 * 
+	 * @param value the target value to be validated
+	 * @return the verified result
+	 */
+	public ValidatedResult validate( Object value ) {
+		return validate( value, null );
+	}
+
+	/**
+	 * Validate the value with the specified locale
+	 * 
+	 * @param value the target value to be validated
+	 * @param locale the specified locale, the default locale is used if it is null.
+	 * @return the verified result
+	 */
+	public ValidatedResult validate( Object value, Locale locale ) {
+		return validate( value, locale, null );
+	}
+
+	/**
+	 * Validate the value with the specified locale and validation mode
+	 * 
+	 * @param value the target value to be validated
+	 * @param locale the specified locale, the default locale is used if it is null.
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @return the verified result
+	 */
+	public ValidatedResult validate( Object value, Locale locale, ValidationMode mode ) {
+		if ( factory instanceof ValidatorFactoryProvider ) {
+			return ( ( ValidatorFactoryProvider ) factory ).validateValue( value, fragments, labelText, locale, mode );
+		}
+		return factory.validateValue( value, rules, labelText, locale, mode, groups );
+	}
+
+	@Override
+	public String toString() {
+		return rules;
+	}
+
+}
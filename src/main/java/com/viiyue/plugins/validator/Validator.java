@@ -15,9 +15,12 @@
  */
 package com.viiyue.plugins.validator;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,10 +28,14 @@ import org.slf4j.LoggerFactory;
 import com.viiyue.plugins.validator.metadata.Element;
 import com.viiyue.plugins.validator.metadata.Fragment;
 import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+import com.viiyue.plugins.validator.scripting.CacheableContent;
 import com.viiyue.plugins.validator.scripting.ExpressionResolver;
+import com.viiyue.plugins.validator.scripting.compiler.CompilationReport;
 import com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion;
+import com.viiyue.plugins.validator.scripting.configuration.ValidationMode;
 import com.viiyue.plugins.validator.scripting.message.MessageResolver;
 import com.viiyue.plugins.validator.scripting.parser.TemplateRuleParser;
+import com.viiyue.plugins.validator.utils.Assert;
 
 /**
  * Core validation class.
@@ -62,6 +69,38 @@ public final class Validator {
 		ExpressionResolver.prepare();
 	}
 	
+	/**
+	 * Compile the validation rules once, and validate values with the returned
+	 * handle repeatedly without parsing the rules or looking up the caches.
+	 * 
+	 * @param rules the validation constraint rule combination
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the reusable compiled rules
+	 * @since 1.0.5
+	 */
+	public static CompiledRules prepare( String rules, Class<?> ... groups ) {
+		return prepare( rules, null, groups );
+	}
+	
+	/**
+	 * Compile the validation rules once, and validate values with the returned
+	 * handle repeatedly without parsing the rules or looking up the caches.
+	 * 
+	 * @param rules the validation constraint rule combination
+	 * @param message the default output message
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the reusable compiled rules
+	 * @since 1.0.5
+	 */
+	public static CompiledRules prepare( String rules, String message, Class<?> ... groups ) {
+		ValidatorFactory factory = getFactory();
+		if ( factory instanceof ValidatorFactoryProvider ) {
+			return ( ( ValidatorFactoryProvider ) factory ).prepare( rules, message, groups );
+		}
+		factory.compile( rules ); // Reject invalid rules early
+		return new CompiledRules( factory, rules, message, groups, null );
+	}
+	
 	/**
 	 * Implementation class for injecting custom validation factory
 	 * {@link ValidatorFactory}
@@ -92,6 +131,39 @@ public final class Validator {
 		return factory;
 	}
 	
+	/**
+	 * Scan the packages and eagerly compile all bean classes that carry
+	 * validation rules in parallel, including the nested {@code @Valid} types
+	 * and the {@code @Rules} templates. It is only supported by the default
+	 * validation factory.
+	 * 
+	 * @param basePackages the base packages to scan, such as {@code com.example.model}
+	 * @return the compilation report with the timing and the failures
+	 * @since 1.0.5
+	 */
+	public static CompilationReport precompile( String ... basePackages ) {
+		ValidatorFactory factory = getFactory();
+		Assert.isTrue( factory instanceof ValidatorFactoryProvider, "Precompilation is not supported by \"{0}\"", factory.getClass().getName() );
+		return ( ( ValidatorFactoryProvider ) factory ).precompile( basePackages );
+	}
+	
+	/**
+	 * Get the statistics of the internal caches of the default validation
+	 * factory, the custom factory has no statistics. The counters are
+	 * recorded only when the cache statistics are enabled by the
+	 * configuration.
+	 * 
+	 * @return the cache statistics keyed by the cache name
+	 * @since 1.0.5
+	 */
+	public static Map<String, CacheableContent.Statistics> getCacheStatistics() {
+		ValidatorFactory factory = getFactory();
+		if ( factory instanceof ValidatorFactoryProvider ) {
+			return ( ( ValidatorFactoryProvider ) factory ).getCacheStatistics();
+		}
+		return Collections.emptyMap();
+	}
+	
 	/**
 	 * Change some optional configurations
 	 * 
@@ -202,6 +274,26 @@ public final class Validator {
 		return getFactory().validateBean( bean, locale, groups );
 	}
 	
+	/**
+	 * <p>
+	 * Validate the constraints of the specified bean with the validation mode
+	 * of this call.
+	 * 
+	 * <p>
+	 * For example, {@link ValidationMode#FIRST_FRAGMENT} stops at the first
+	 * violation without changing the single mode of the configuration.
+	 * 
+	 * @param bean the target java bean object to be validated
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the verified result
+	 * @since 1.0.5
+	 */
+	public static ValidatedResult validateBean( Object bean, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return getFactory().validateBean( bean, locale, mode, groups );
+	}
+	
 	/**
 	 * <p>
 	 * Validate specified value using constraint rule group.
@@ -238,6 +330,23 @@ public final class Validator {
 		return getFactory().validateValue( value, rules, message, locale, groups );
 	}
 	
+	/**
+	 * Validate specified value using constraint rule group with the validation
+	 * mode of this call.
+	 * 
+	 * @param value the target value to be validated
+	 * @param rules the validation constraint rule combination
+	 * @param message the default output message
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the verified result
+	 * @since 1.0.5
+	 */
+	public static ValidatedResult validateValue( Object value, String rules, String message, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return getFactory().validateValue( value, rules, message, locale, mode, groups );
+	}
+	
 	/**
 	 * <p>
 	 * Validate constraint rules for specified parameters.
@@ -280,4 +389,60 @@ public final class Validator {
 		return getFactory().validateParameter( value, parameter, parameterName, message, locale, groups );
 	}
 	
+	/**
+	 * <p>
+	 * Validate constraint rules for all parameters of the method at once, and
+	 * merge the results into one result.
+	 * 
+	 * <p>
+	 * The parameter names, labels and rules are compiled only once for each
+	 * method, which is suitable for interceptors that validate the arguments
+	 * of every invocation.
+	 * 
+	 * @param method the target method
+	 * @param args the method arguments, in declaration order
+	 * @param locale the specified locale
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the merged verified result
+	 * @since 1.0.5
+	 */
+	public static ValidatedResult validateParameters( Method method, Object [] args, Locale locale, Class<?> ... groups ) {
+		return validateParameters( method, args, locale, null, groups );
+	}
+	
+	/**
+	 * Validate constraint rules for all parameters of the method at once with
+	 * the validation mode of this call, custom validation factories ignore the
+	 * mode.
+	 * 
+	 * @param method the target method
+	 * @param args the method arguments, in declaration order
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the merged verified result
+	 * @since 1.0.5
+	 */
+	public static ValidatedResult validateParameters( Method method, Object [] args, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		ValidatorFactory factory = getFactory();
+		if ( factory instanceof ValidatorFactoryProvider ) {
+			return ( ( ValidatorFactoryProvider ) factory ).validateParameters( method, args, locale, mode, groups );
+		}
+		Assert.notNull( method, "'method' cannot be null" );
+		Parameter [] parameters = method.getParameters();
+		Assert.isTrue( ( args == null ? 0 : args.length ) == parameters.length, "Method <{0}> expects {1} arguments", method, parameters.length );
+		ValidatedResult testResult = new ValidatedResult(), messageResult = null;
+		for ( int i = 0; i < parameters.length; i ++ ) {
+			ValidatedResult result = factory.validateParameter( args[ i ], parameters[ i ], null, parameters[ i ].getName(), locale, groups );
+			testResult.merge( result );
+			if ( messageResult == null || messageResult.isPassed() ) {
+				messageResult = result; // Keep the message of the first rejected result
+			}
+		}
+		if ( messageResult != null ) {
+			testResult.setMessage( messageResult.getMessage() );
+		}
+		return testResult;
+	}
+	
 }
@@ -28,6 +28,7 @@ import com.viiyue.plugins.validator.metadata.Fragment;
 import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion;
+import com.viiyue.plugins.validator.scripting.configuration.ValidationMode;
 import com.viiyue.plugins.validator.scripting.message.MessageResolver;
 import com.viiyue.plugins.validator.scripting.parser.TemplateRuleParser;
 
@@ -169,6 +170,21 @@ public interface ValidatorFactory {
 	 */
 	ValidatedResult validateBean( Object bean, Locale locale, Class<?> ... groups );
 	
+	/**
+	 * Validate the constraints of the specified bean with the validation mode
+	 * of this call, the default implementation ignores the mode.
+	 * 
+	 * @param bean the target java bean object to be validated
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the verified result
+	 * @since 1.0.5
+	 */
+	default ValidatedResult validateBean( Object bean, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return validateBean( bean, locale, groups );
+	}
+	
 	/**
 	 * Validate specified value using constraint rule group
 	 * 
@@ -181,6 +197,23 @@ public interface ValidatorFactory {
 	 */
 	ValidatedResult validateValue( Object value, String rules, String message, Locale locale, Class<?> ... groups );
 	
+	/**
+	 * Validate specified value using constraint rule group with the
+	 * validation mode of this call, the default implementation ignores the mode.
+	 * 
+	 * @param value the target value to be validated
+	 * @param rules the validation constraint rule combination
+	 * @param message the default output message
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups validate the constraint rules under the specified group
+	 * @return the verified result
+	 * @since 1.0.5
+	 */
+	default ValidatedResult validateValue( Object value, String rules, String message, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return validateValue( value, rules, message, locale, groups );
+	}
+	
 	/**
 	 * Validate constraint rules for specified parameters
 	 * 
@@ -25,6 +25,7 @@ import static com.viiyue.plugins.validator.common.Constants.MESSAGE_KEY_MISSING_
 import static com.viiyue.plugins.validator.common.Constants.MESSAGE_KEY_TEST_PASSED;
 import static com.viiyue.plugins.validator.common.Constants.MESSAGE_KEY_TEST_REJECTED;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,14 +37,11 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.viiyue.plugins.validator.annotation.Label;
 import com.viiyue.plugins.validator.annotation.When;
 import com.viiyue.plugins.validator.annotation.When.Result;
-import com.viiyue.plugins.validator.common.Constants;
 import com.viiyue.plugins.validator.handler.BaseHandler;
 import com.viiyue.plugins.validator.handler.BoundaryHandler;
 import com.viiyue.plugins.validator.handler.CommonHanlder;
@@ -57,19 +55,31 @@ import com.viiyue.plugins.validator.handler.NotBlankHandler;
 import com.viiyue.plugins.validator.handler.NotEmptyHandler;
 import com.viiyue.plugins.validator.handler.PasswordHandler;
 import com.viiyue.plugins.validator.handler.PatternHandler;
+import com.viiyue.plugins.validator.handler.PrimitiveHandler;
 import com.viiyue.plugins.validator.handler.RangeHandler;
 import com.viiyue.plugins.validator.handler.RequiredHandler;
 import com.viiyue.plugins.validator.handler.URLHandler;
+import com.viiyue.plugins.validator.metadata.BoundFragment;
 import com.viiyue.plugins.validator.metadata.Conditional;
 import com.viiyue.plugins.validator.metadata.Element;
+import com.viiyue.plugins.validator.metadata.ExecutablePlan;
+import com.viiyue.plugins.validator.metadata.ExecutablePlan.ParameterPlan;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.MessageKeys;
+import com.viiyue.plugins.validator.metadata.ValidationPlan;
+import com.viiyue.plugins.validator.metadata.ValidationPlan.ElementPlan;
+import com.viiyue.plugins.validator.metadata.accessor.Accessor;
+import com.viiyue.plugins.validator.metadata.result.DeferredMessage;
 import com.viiyue.plugins.validator.metadata.result.ElementResult;
 import com.viiyue.plugins.validator.metadata.result.FragmentResult;
 import com.viiyue.plugins.validator.metadata.result.ValidatedResult;
+import com.viiyue.plugins.validator.scripting.CacheableContent;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.scripting.ExpressionResolver;
+import com.viiyue.plugins.validator.scripting.compiler.CompilationReport;
 import com.viiyue.plugins.validator.scripting.compiler.ElementCompiler;
 import com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion;
+import com.viiyue.plugins.validator.scripting.configuration.ValidationMode;
 import com.viiyue.plugins.validator.scripting.message.DefaultMessageResolver;
 import com.viiyue.plugins.validator.scripting.message.MessageResolver;
 import com.viiyue.plugins.validator.utils.ArrayUtil;
@@ -90,8 +100,8 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 	private MessageResolver messageResolver;
 	private ContextConfigurion configuration;
 
-	private final ElementCompiler compiler = new ElementCompiler();
 	private final ConcurrentMap<String, Handler> handlers = new ConcurrentHashMap<String, Handler>( 64 );
+	private final ElementCompiler compiler = new ElementCompiler( handlers );
 	
 	private static class Holder {
 		private static final ValidatorFactoryProvider INSTANCE = new ValidatorFactoryProvider();
@@ -120,6 +130,21 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		return compiler.compile( beanType );
 	}
 	
+	/**
+	 * Eagerly compile the bean classes under the packages in parallel, so
+	 * that the first validations after startup do not pay for compiling.
+	 * 
+	 * @param basePackages the base packages to scan
+	 * @return the compilation report
+	 * @since 1.0.5
+	 * 
+	 * @see ElementCompiler#precompile(ClassLoader, int, String...)
+	 */
+	public CompilationReport precompile( String ... basePackages ) {
+		Assert.notEmpty( basePackages, "'basePackages' cannot be empty" );
+		return compiler.precompile( ClassUtil.getDefaultClassLoader(), Runtime.getRuntime().availableProcessors(), basePackages );
+	}
+	
 	@Override
 	public ContextConfigurion getConfiguration() {
 		return configuration;
@@ -130,6 +155,26 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		Assert.isNull( this.configuration, "Context configuration allows configuration only once" );
 		this.configuration = configuration == null ? new ContextConfigurion() : configuration;
 		this.compiler.getTemplateParser().setStrictMode( this.configuration.isEnableStrictMode() );
+		this.compiler.setMaximumCacheSize( this.configuration.getMaximumCacheSize() );
+		this.compiler.setFieldAccess( this.configuration.isEnableFieldAccess() );
+		ExpressionResolver.setMaximumCacheSize( this.configuration.getMaximumCacheSize() );
+		ExpressionResolver.setExpressionEnabled( this.configuration.isEnableExpression() );
+		CacheableContent.setRecordStatistics( this.configuration.isEnableCacheStatistics() );
+	}
+	
+	/**
+	 * Get the statistics of the internal caches, such as the compiled beans,
+	 * template rules, regular expressions, JEXL expressions and message
+	 * templates. The counters are recorded only when the cache statistics
+	 * are enabled by the configuration.
+	 * 
+	 * @return the cache statistics keyed by the cache name
+	 * @since 1.0.5
+	 */
+	public Map<String, CacheableContent.Statistics> getCacheStatistics() {
+		Map<String, CacheableContent.Statistics> statistics = compiler.getCacheStatistics();
+		statistics.putAll( ExpressionResolver.getCacheStatistics() );
+		return statistics;
 	}
 
 	@Override
@@ -156,6 +201,9 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 			messageResolver.setDefaultLocale( configuration.getDefaultLanguage() );
 		}
 		messageResolver.addResourceBundle( DEFAULT_RESOURCE_NAME, DEFAULT_MESSAGE_LANGUAGES );
+		if ( messageResolver instanceof DefaultMessageResolver ) {
+			( ( DefaultMessageResolver ) messageResolver ).preloadCatalogs();
+		}
 	}
 	
 	@Override
@@ -179,20 +227,31 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		}
 		
 		MessageResolver messageResolver = getMessageResolver();
-		String [] messageKeys = context.getMessageKeys();
-		if ( ArrayUtil.isEmpty( messageKeys ) ) {
-			messageKeys = new String[] { fragment.getName() };
+		String [] messageKeys = null;
+		MessageKeys messageKeyChain = context.getMessageKeyChain();
+		if ( messageKeyChain != null ) {
+			messageKeys = messageKeyChain.getPrefixedKeys( messageResolver );
+		} else {
+			messageKeys = context.getMessageKeys();
+			if ( ArrayUtil.isEmpty( messageKeys ) ) {
+				messageKeys = MessageKeys.untyped( fragment.getName(), null ).getPrefixedKeys( messageResolver );
+			} else {
+				String [] prefixedKeys = new String[ messageKeys.length ];
+				for ( int i = 0; i < messageKeys.length; i ++ ) {
+					prefixedKeys[ i ] = messageResolver.getMessageKey( messageKeys[ i ] );
+				}
+				messageKeys = prefixedKeys;
+			}
 		}
 		
-		for ( String messageKey : messageKeys ) {
-			String errorCode = messageResolver.getMessageKey( messageKey );
+		for ( String errorCode : messageKeys ) {
 			String errorMessage = messageResolver.resolve( errorCode, context.getLocale() );
 			if ( errorMessage != null && !Objects.equals( errorCode, errorMessage ) ) {
 				errorMessage = ExpressionResolver.resolveResourceText( errorMessage, context, fragment.getArguments() );
 				return errorMessage;
 			}
 		}
-		return "{" + messageResolver.getMessageKey( messageKeys[ 0 ] ) + "}";
+		return "{" + messageKeys[ 0 ] + "}";
 	}
 
 	@Override
@@ -229,9 +288,30 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 
 	@Override
 	public ValidatedResult validateValue( Object value, String rules, String labelText, Locale locale, Class<?> ... groups ) {
+		return validateValue( value, compiler.compile( rules, groups ), labelText, locale, null );
+	}
+	
+	@Override
+	public ValidatedResult validateValue( Object value, String rules, String labelText, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return validateValue( value, compiler.compile( rules, groups ), labelText, locale, mode );
+	}
+	
+	/**
+	 * Compile the rules once for repeated validations
+	 * 
+	 * @param rules the validation constraint rule combination
+	 * @param labelText the default output message
+	 * @param groups the constraint rules under the specified groups
+	 * @return the reusable compiled rules
+	 * @since 1.0.5
+	 */
+	public CompiledRules prepare( String rules, String labelText, Class<?> ... groups ) {
+		return new CompiledRules( this, rules, labelText, groups, compiler.compile( rules, groups ) );
+	}
+	
+	ValidatedResult validateValue( Object value, List<BoundFragment> fragments, String labelText, Locale locale, ValidationMode mode ) {
 		ValidatedResult testResult = new ValidatedResult();
-		List<Fragment> fragments = compiler.compile( rules );
-		List<FragmentResult> results = doValidateValue( null, value, null, fragments, locale, groups );
+		List<FragmentResult> results = doValidateValue( null, value, null, fragments, locale, mode == ValidationMode.FIRST_FRAGMENT );
 		if ( results != null ) {
 			testResult.addRejectedResult( createElementResult( value, results, "target", labelText, locale ) );
 		} else {
@@ -250,8 +330,8 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		Class<?> ... groups ) {
 		
 		ValidatedResult testResult = new ValidatedResult();
-		List<Fragment> fragments = compiler.compile( parameter );
-		List<FragmentResult> results = doValidateValue( null, value, null, fragments, locale, groups );
+		List<BoundFragment> fragments = compiler.compile( parameter, groups );
+		List<FragmentResult> results = doValidateValue( null, value, null, fragments, locale, false );
 		if ( results != null ) {
 			Label label = parameter.getAnnotation( Label.class );
 			parameterName = StringUtils.defaultIfEmpty( parameterName, parameter.getName() );
@@ -263,87 +343,155 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		return changeResult( testResult, locale );
 	}
 
+	/**
+	 * <p>
+	 * Validate all arguments of the method at once, the parameter names,
+	 * labels and bound fragments come from the validation plan compiled once
+	 * for each (method, groups), and the results of all parameters are merged
+	 * into one result.
+	 * 
+	 * <p>
+	 * The label of the parameter is the value of {@code @Label}, or the
+	 * parameter name if it is not specified.
+	 * 
+	 * @param method the target method
+	 * @param args the method arguments, in declaration order
+	 * @param locale the specified locale
+	 * @param groups the constraint rules under the specified groups
+	 * @return the merged verified result
+	 * @since 1.0.5
+	 */
+	public ValidatedResult validateParameters( Method method, Object [] args, Locale locale, Class<?> ... groups ) {
+		return validateParameters( method, args, locale, null, groups );
+	}
+	
+	/**
+	 * Validate all arguments of the method at once with the validation mode
+	 * of this call
+	 * 
+	 * @param method the target method
+	 * @param args the method arguments, in declaration order
+	 * @param locale the specified locale
+	 * @param mode the validation mode of this call, {@code null} to use the configured mode.
+	 * @param groups the constraint rules under the specified groups
+	 * @return the merged verified result
+	 * @since 1.0.5
+	 * 
+	 * @see #validateParameters(Method, Object[], Locale, Class...)
+	 */
+	public ValidatedResult validateParameters( Method method, Object [] args, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		Assert.notNull( method, "'method' cannot be null" );
+		final ExecutablePlan plan = compiler.compile( method, groups );
+		Assert.isTrue( ( args == null ? 0 : args.length ) == plan.getParameterCount(), "Method <{0}> expects {1} arguments", method, plan.getParameterCount() );
+		if ( plan.isEmpty() ) {
+			return emptyResult( locale );
+		}
+		final ValidationMode validationMode = mode == null ? ValidationMode.of( configuration ) : mode;
+		final ValidatedResult testResult = new ValidatedResult();
+		testResult.setTotalCount( plan.size() );
+		final List<ParameterPlan> parameterPlans = plan.getParameters();
+		for ( int i = 0, size = parameterPlans.size(); i < size; i ++ ) {
+			final ParameterPlan parameterPlan = parameterPlans.get( i );
+			Object value = args[ parameterPlan.getIndex() ];
+			List<FragmentResult> results = doValidateValue( null, value, null, parameterPlan.getFragments(), locale, validationMode == ValidationMode.FIRST_FRAGMENT );
+			if ( results == null ) {
+				testResult.passedAccumulation();
+			} else {
+				testResult.addRejectedResult( createElementResult( value, results, parameterPlan.getName(), parameterPlan.getLabel(), locale ) );
+				if ( validationMode != ValidationMode.COLLECT_ALL ) {
+					break;
+				}
+			}
+		}
+		return changeResult( testResult, locale );
+	}
+
 	@Override
 	public ValidatedResult validateBean( Object bean, Locale locale, Class<?> ... groups ) {
-		MessageResolver messageResolver = getMessageResolver();
-		
+		return validateBean( bean, locale, null, groups );
+	}
+	
+	@Override
+	public ValidatedResult validateBean( Object bean, Locale locale, ValidationMode mode, Class<?> ... groups ) {
+		return doValidateBean( bean, locale, mode == null ? ValidationMode.of( configuration ) : mode, groups );
+	}
+	
+	private ValidatedResult doValidateBean( Object bean, Locale locale, ValidationMode mode, Class<?> ... groups ) {
 		// If the validation object is null, the validation is passed directly.
 		if ( bean == null ) {
-			String messageKey = messageResolver.getMessageKey( MESSAGE_KEY_MISSING_VALUE );
-			return ValidatedResult.empty( messageResolver.resolve( messageKey, locale ) );
+			return emptyResult( locale );
 		}
 		
-		// Get the list of compiled elements. 
+		// Get the compiled validation plan. 
 		// If you have compiled in advance, you should get the results directly, 
 		// otherwise it will take some time to compile the validation rules.
 		final Class<?> beanType = bean.getClass();
-		final List<Element> elements = compiler.compile( beanType );
+		final ValidationPlan plan = compiler.compile( beanType, groups );
 		
 		// If the list of validation rules is empty, the validation is also passed.
-		if ( CollectionUtils.isEmpty( elements ) ) {
-			String messageKey = messageResolver.getMessageKey( MESSAGE_KEY_MISSING_VALUE );
-			return ValidatedResult.empty( messageResolver.resolve( messageKey, locale ) );
+		if ( plan.isEmpty() ) {
+			return emptyResult( locale );
 		}
 		
 		// Initial validation results
-		final int elementSize = elements.size();
+		final int elementSize = plan.size();
 		final ValidatedResult testResult = new ValidatedResult();
 		testResult.setTotalCount( elementSize );
 		
 		// Validating unconditional elements
-		List<Element> conditionalElements = null;
 		Map<String, When.Result> testedMapping = new HashMap<String, When.Result>( elementSize / 2 );
-		for ( Element element : elements ) {
-			if ( element.isUnconditional() ) {
-				if ( doValidateElement( testResult, bean, element, locale, groups ) ) {
-					testedMapping.put( element.getProperty(), When.Result.PASSED );
-				} else {
-					testedMapping.put( element.getProperty(), When.Result.REJECTED );
-					if ( configuration.isEnableSingleMode() ) {
-						return changeResult( testResult, locale );
-					}
-				}
+		for ( ElementPlan elementPlan : plan.getUnconditionals() ) {
+			Element element = elementPlan.getElement();
+			if ( doValidateElement( testResult, bean, elementPlan, locale, mode, groups ) ) {
+				testedMapping.put( element.getProperty(), When.Result.PASSED );
 			} else {
-				if ( conditionalElements == null ) {
-					// Make predictions only, not actual initial capacity...
-					conditionalElements = new ArrayList<Element>( elementSize - testedMapping.size() );
+				testedMapping.put( element.getProperty(), When.Result.REJECTED );
+				if ( mode != ValidationMode.COLLECT_ALL ) {
+					return changeResult( testResult, locale );
 				}
-				conditionalElements.add( element );
 			}
 		}
 		
 		// Selective condition judgment only supports simple nesting, and does
 		// not support mutual nesting.
-		if ( conditionalElements != null ) {
-			for ( Element element : conditionalElements ) {
-				if ( containsResult( testedMapping, element.getConditional() ) ) {
-					if ( !doValidateElement( testResult, bean, element, locale, groups ) && configuration.isEnableSingleMode() ) {
-						return changeResult( testResult, locale );
-					}
-				} else {
-					testResult.ignoredAccumulation();
+		for ( ElementPlan elementPlan : plan.getConditionals() ) {
+			if ( containsResult( testedMapping, elementPlan.getElement().getConditional() ) ) {
+				if ( !doValidateElement( testResult, bean, elementPlan, locale, mode, groups ) && mode != ValidationMode.COLLECT_ALL ) {
+					return changeResult( testResult, locale );
 				}
+			} else {
+				testResult.ignoredAccumulation();
 			}
 		}
 		return changeResult( testResult, locale );
 	}
 	
-	private boolean doValidateElement( ValidatedResult testResult, Object bean, Element element, Locale locale, Class<?> ... groups ) {
+	private boolean doValidateElement( ValidatedResult testResult, Object bean, ElementPlan elementPlan, Locale locale, ValidationMode mode, Class<?> ... groups ) {
 		boolean isPassed = true;
+		final Element element = elementPlan.getElement();
 		final String property = element.getProperty();
+		final List<BoundFragment> fragments = elementPlan.getFragments();
+		
+		// The primitive value is validated without boxing, and only the
+		// rejected value is read again to build the results.
+		final Class<?> primitiveType = elementPlan.getPrimitiveType();
+		if ( primitiveType != null && doValidatePrimitive( bean, element.getAccessor(), fragments, primitiveType ) ) {
+			testResult.passedAccumulation();
+			return true;
+		}
+		
 		final Object elementValue = element.getValue( bean );
-		final List<Fragment> fragments = element.getFragments();
 
 		ElementResult result = null;
-		if ( CollectionUtils.isNotEmpty( fragments ) ) {
-			List<FragmentResult> results = doValidateValue( bean, elementValue, element, fragments, locale, groups );
+		if ( fragments != null ) {
+			List<FragmentResult> results = doValidateValue( bean, elementValue, element, fragments, locale, mode == ValidationMode.FIRST_FRAGMENT );
 			if ( results != null ) {
 				isPassed = false;
 				result = createElementResult( elementValue, results, property, element.getLabel(), locale );
 			}
 		}
 		if ( element.isJavaBean() && result == null ) {
-			ValidatedResult beanResult = validateBean( elementValue, locale, groups );
+			ValidatedResult beanResult = doValidateBean( elementValue, locale, mode, groups );
 			result = createElementResult( elementValue, beanResult, property, element.getLabel(), locale );
 			result.setJavaBean( element.isJavaBean() );
 			isPassed = beanResult.isPassed();
@@ -356,67 +504,83 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		return isPassed;
 	}
 	
-	private List<FragmentResult> doValidateValue( Object bean, Object value, Element element, List<Fragment> fragments, Locale locale, Class<?> ... groups ) {
-		if ( CollectionUtils.isEmpty( fragments ) ) {
-			return null; // Passed
+	private boolean doValidatePrimitive( Object bean, Accessor accessor, List<BoundFragment> fragments, Class<?> primitiveType ) {
+		if ( primitiveType == long.class ) {
+			final long value = accessor.getLong( bean );
+			for ( int i = 0, size = fragments.size(); i < size; i ++ ) {
+				final BoundFragment binding = fragments.get( i );
+				if ( !( ( PrimitiveHandler ) binding.getHandler() ).doHandle( value, binding.getFragment() ) ) {
+					return false;
+				}
+			}
+		} else {
+			final double value = accessor.getDouble( bean );
+			for ( int i = 0, size = fragments.size(); i < size; i ++ ) {
+				final BoundFragment binding = fragments.get( i );
+				if ( !( ( PrimitiveHandler ) binding.getHandler() ).doHandle( value, binding.getFragment() ) ) {
+					return false;
+				}
+			}
 		}
-		fragments = getFragmentsByGroup( fragments, groups );
-		if ( CollectionUtils.isEmpty( fragments ) ) {
+		return true;
+	}
+	
+	private List<FragmentResult> doValidateValue( Object bean, Object value, Element element, List<BoundFragment> fragments, Locale locale, boolean failFast ) {
+		if ( fragments == null ) {
 			return null; // Passed
 		}
 		List<FragmentResult> results = null;
-		for ( final Fragment fragment : fragments ) {
-			String fragmentName = fragment.getName();
-			Context context = new Context( this, element, bean, locale );
-			if ( !doFragmentValidate( value, fragmentName, fragment, context ) ) {
+		
+		// The context is shared by all fragments of the value and reset before
+		// each fragment, unless it is kept by a deferred error message.
+		Context context = null;
+		for ( int i = 0, size = fragments.size(); i < size; i ++ ) {
+			final BoundFragment binding = fragments.get( i );
+			final Fragment fragment = binding.getFragment();
+			final String fragmentName = fragment.getName();
+			if ( context == null ) {
+				context = new Context( this, element, bean, locale );
+			} else {
+				context.reset();
+			}
+			if ( !doFragmentValidate( value, binding, context ) ) {
 				if ( results == null ) {
 					results = new ArrayList<FragmentResult>( fragments.size() );
 				}
 				String errorCode = null;
-				String errorMessage = getResourceMessage( context, fragment );
-				
 				String [] messageKeys = context.getMessageKeys();
 				if ( messageKeys == null ) {
-					errorCode = getMessageResolver().getMessageKey( fragment.getName() );
+					errorCode = MessageKeys.untyped( fragmentName, null ).getPrefixedKeys( getMessageResolver() )[ 0 ];
 				} else {
 					errorCode = messageKeys[ messageKeys.length - 1 ];
 				}
-				// errorMessage = TextUtil.uncapitalize( errorMessage );
-				results.add( new FragmentResult( fragmentName, errorCode, errorMessage, fragment.getArguments() ) );
+				if ( configuration.isEnableLazyMessage() ) {
+					results.add( new FragmentResult( fragmentName, errorCode, deferredMessage( context, fragment ), fragment.getArguments() ) );
+					context = null;
+				} else {
+					String errorMessage = getResourceMessage( context, fragment );
+					// errorMessage = TextUtil.uncapitalize( errorMessage );
+					results.add( new FragmentResult( fragmentName, errorCode, errorMessage, fragment.getArguments() ) );
+				}
+				if ( failFast ) {
+					break; // Stop at the first rejected fragment
+				}
 			}
 		}
 		return results;
 	}
 	
-	private boolean doFragmentValidate( Object value, String fragmentName, Fragment frgament, Context context ) {
-		final Handler handler = handlers.get( fragmentName );
+	private boolean doFragmentValidate( Object value, BoundFragment binding, Context context ) {
+		final Handler handler = binding.getHandler();
 		if ( handler == null ) {
-			LOG.error( "Fragment \"{}\" did not find a suitable handler", fragmentName );
+			LOG.error( "Fragment \"{}\" did not find a suitable handler", binding.getFragment().getName() );
 			return true;
 		}
-		if ( value != null ) {
-			Class<?> valueType = value.getClass();
-			if ( !handler.support( valueType ) ) {
-				LOG.warn( "Handler \"{}\" cannot handle parameter of type \"{}\"", handler.getClass().getName(), valueType );
-				return true;
-			}
-		}
-		return handler.doHandle( value, frgament, context );
-	}
-	
-	private List<Fragment> getFragmentsByGroup( List<Fragment> fragments, Class<?> [] groups ) {
-		if ( ArrayUtils.isEmpty( groups ) || Objects.equals( Constants.DEFAULT_GROUP, groups[ 0 ] ) ) {
-			return fragments;
-		}
-		List<Fragment> filteredFragments = new ArrayList<Fragment>( fragments.size() / 2 );
-		for ( Class<?> group : groups ) {
-			for ( Fragment fragment : fragments ) {
-				if ( fragment.isInGroup( group ) ) {
-					filteredFragments.add( fragment );
-				}
-			}
+		if ( value != null && !binding.isSupported( value ) ) {
+			LOG.warn( "Handler \"{}\" cannot handle parameter of type \"{}\"", handler.getClass().getName(), value.getClass() );
+			return true;
 		}
-		return filteredFragments;
+		return handler.doHandle( value, binding.getFragment(), context );
 	}
 	
 	private ElementResult createElementResult( Object value, Object results, String fieldName, String labelText, Locale locale ) {
@@ -424,17 +588,61 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 		result.setResult( results );
 		result.setField( fieldName );
 		result.setFieldValue( value );
-		result.setLabel( getResourceMessage( labelText, locale ) );
+		if ( labelText != null && configuration.isEnableLazyMessage() ) {
+			result.setLabel( deferredMessage( labelText, locale ) );
+		} else {
+			result.setLabel( getResourceMessage( labelText, locale ) );
+		}
 		return result;
 	}
 	
 	private ValidatedResult changeResult( ValidatedResult result, Locale locale ) {
-		MessageResolver messageResolver = getMessageResolver();
-		String messageKey = messageResolver.getMessageKey( result.isPassed() ? MESSAGE_KEY_TEST_PASSED : MESSAGE_KEY_TEST_REJECTED );
-		result.setMessage( messageResolver.resolve( messageKey, locale ) );
+		String messageName = result.isPassed() ? MESSAGE_KEY_TEST_PASSED : MESSAGE_KEY_TEST_REJECTED;
+		if ( configuration.isEnableLazyMessage() ) {
+			result.setMessage( deferredSummary( messageName, locale ) );
+		} else {
+			MessageResolver messageResolver = getMessageResolver();
+			result.setMessage( messageResolver.resolve( messageResolver.getMessageKey( messageName ), locale ) );
+		}
 		return result;
 	}
 	
+	private ValidatedResult emptyResult( Locale locale ) {
+		if ( configuration.isEnableLazyMessage() ) {
+			return ValidatedResult.empty( deferredSummary( MESSAGE_KEY_MISSING_VALUE, locale ) );
+		}
+		MessageResolver messageResolver = getMessageResolver();
+		return ValidatedResult.empty( messageResolver.resolve( messageResolver.getMessageKey( MESSAGE_KEY_MISSING_VALUE ), locale ) );
+	}
+	
+	private DeferredMessage deferredMessage( final Context context, final Fragment fragment ) {
+		return new DeferredMessage() {
+			@Override
+			public String render() {
+				return getResourceMessage( context, fragment );
+			}
+		};
+	}
+	
+	private DeferredMessage deferredMessage( final String message, final Locale locale ) {
+		return new DeferredMessage() {
+			@Override
+			public String render() {
+				return getResourceMessage( message, locale );
+			}
+		};
+	}
+	
+	private DeferredMessage deferredSummary( final String messageName, final Locale locale ) {
+		return new DeferredMessage() {
+			@Override
+			public String render() {
+				MessageResolver messageResolver = getMessageResolver();
+				return messageResolver.resolve( messageResolver.getMessageKey( messageName ), locale );
+			}
+		};
+	}
+	
 	private boolean containsResult( Map<String, When.Result> target, Conditional conditional ) {
 		boolean contains = true;
 		When.Result test = conditional.getTest();
@@ -455,6 +663,7 @@ public class ValidatorFactoryProvider implements ValidatorFactory {
 			LOG.warn( "The handler \"{}\" already exists, but you replaced it", handler.name() );
 		}
 		this.handlers.put( handlerName, handler );
+		this.compiler.clear(); // Fragments are bound to the handlers
 	}
 
 	private void loadHandlers() {
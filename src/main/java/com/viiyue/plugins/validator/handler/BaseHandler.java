@@ -15,19 +15,16 @@
  */
 package com.viiyue.plugins.validator.handler;
 
-import java.util.Set;
-
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.Range;
-import org.apache.commons.lang3.StringUtils;
 
 import com.viiyue.plugins.validator.exception.ValidatorException;
 import com.viiyue.plugins.validator.metadata.Element;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.MessageKeys;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.utils.ArrayUtil;
 import com.viiyue.plugins.validator.utils.Assert;
-import com.viiyue.plugins.validator.utils.ClassUtil;
 
 /**
  * Basic data validation handler. Generally,
@@ -82,10 +79,11 @@ public abstract class BaseHandler implements Handler {
 	
 	@Override
 	public boolean support( Class<?> valueType ) {
-		if ( supports() == null ) {
+		final Class<?> [] supportedTypes = supports();
+		if ( supportedTypes == null ) {
 			return true;
 		}
-		for ( Class<?> type : supports() ) {
+		for ( Class<?> type : supportedTypes ) {
 			if ( ClassUtils.isAssignable( valueType, type ) ) {
 				return true;
 			}
@@ -95,7 +93,6 @@ public abstract class BaseHandler implements Handler {
 
 	@Override
 	public final boolean doHandle( Object value, Fragment fragment, Context context ) {
-		doArgumentsCheck( fragment );
 		boolean isValid = ( value == null ? !required() : doValidate( value, fragment, context ) );
 		if ( !isValid && context.getMessageKeys() == null ) {
 			setMessageKeys( context, fragment, null );
@@ -111,25 +108,25 @@ public abstract class BaseHandler implements Handler {
 	 * @param supplement the supplementary message text
 	 */
 	public void setMessageKeys( Context context, Fragment fragment, String supplement ) {
-		String baseKey = fragment.getName();
-		if ( StringUtils.isNotEmpty( supplement ) ) {
-			baseKey += "." + supplement;
-		}
 		Element element = context.getElement();
 		if ( element == null ) {
-			context.setMessageKeys( baseKey );
+			context.setMessageKeyChain( MessageKeys.untyped( fragment.getName(), supplement ) );
 		} else {
-			Set<Class<?>> allTypes = ClassUtil.getAllSuperclasses( element.getFieldType() );
-			int index = 0, size = allTypes.size();
-			String [] messageKeys = new String[ size + 1 ];
-			for ( Class<?> type : allTypes ) {
-				messageKeys[ index ++ ] = baseKey + "." + type.getName();
-			}
-			messageKeys[ size ] = baseKey;
-			context.setMessageKeys( messageKeys );
+			context.setMessageKeyChain( element.getMessageKeys( fragment.getName(), supplement ) );
 		}
 	}
 	
+	/**
+	 * Prepare the fragment when it is compiled, such as converting the
+	 * arguments in advance, so that there is no need to do it every time it
+	 * is validated. It is called once after {@link #verify(Fragment)}.
+	 * 
+	 * @param fragment the fragment of current validation rule
+	 * @since 1.0.5
+	 */
+	public void prepare( Fragment fragment ) {
+	}
+	
 	/**
 	 * Handle specific validation logic
 	 * 
@@ -197,7 +194,7 @@ public abstract class BaseHandler implements Handler {
 			appender.append( "(?)" );
 		} else {
 			appender.append( "(" );
-			for ( int i = minimum; i < maximum; i ++ ) {
+			for ( int i = 0; i < maximum; i ++ ) {
 				if ( i > 0 ) {
 					appender.append( "," );
 				}
@@ -209,15 +206,18 @@ public abstract class BaseHandler implements Handler {
 	}
 	
 	/**
-	 * Do some basic parameter limit validation
+	 * Do some basic parameter limit validation, it is called once when the
+	 * validation rule is compiled instead of every time it is validated.
 	 * 
 	 * @param fragment the fragment of current validation rule
+	 * @throws ValidatorException if the number of arguments is not acceptable
+	 * @since 1.0.5
 	 */
-	private void doArgumentsCheck( Fragment fragment ) {
+	public final void verify( Fragment fragment ) {
 		if ( varargs ) {
 			return;
 		}
-		final Integer argNum = fragment.argumentNumber();
+		final int argNum = fragment.argumentNumber();
 		
 		// No parameters required
 		if ( argumentNumberRange == null ) {
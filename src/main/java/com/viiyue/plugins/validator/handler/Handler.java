@@ -36,6 +36,9 @@ public interface Handler {
 	
 	/**
 	 * Does the handler support this data type?
+	 * <p>The result is resolved once against the declared type when the
+	 * fragment is compiled, so if a type is supported, its subtypes should
+	 * be supported as well.
 	 * 
 	 * @param valueType the target value type
 	 * @return true for support, otherwise it is not supported.
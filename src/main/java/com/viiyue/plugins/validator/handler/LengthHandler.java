@@ -18,9 +18,6 @@ package com.viiyue.plugins.validator.handler;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Objects;
-
-import org.apache.commons.lang3.ArrayUtils;
 
 import com.viiyue.plugins.validator.constraints.Length;
 import com.viiyue.plugins.validator.metadata.Fragment;
@@ -45,6 +42,8 @@ import com.viiyue.plugins.validator.utils.TextUtil;
  */
 public final class LengthHandler extends BaseHandler {
 	
+	private static final Class<?> [] SUPPORTED_TYPES = { CharSequence.class, Object[].class, Collection.class, Map.class };
+	
 	public LengthHandler() {
 		super( "length" );
 		super.setArgumentNumber( 1 );
@@ -52,24 +51,29 @@ public final class LengthHandler extends BaseHandler {
 	
 	@Override
 	public Class<?> [] supports() {
-		return ArrayUtils.toArray( CharSequence.class, Object[].class, Collection.class, Map.class );
+		return SUPPORTED_TYPES;
+	}
+
+	@Override
+	public void prepare( Fragment fragment ) {
+		fragment.prepareNumberArguments();
 	}
 
 	@Override
 	public boolean doValidate( Object value, Fragment fragment, Context context ) {
-		Integer length = null;
-		Integer target = fragment.getArgument( 0, Integer.class );
-		
+		int length;
 		if ( value instanceof CharSequence ) {
-			length = TextUtil.length( value.toString() );
+			length = TextUtil.length( ( CharSequence ) value, context.getLengthMetric() );
 		} else if ( value instanceof Collection ) {
 			length = ( ( Collection<?> ) value ).size();
 		} else if ( value instanceof Map ) {
 			length = ( ( Map<?, ?> ) value ).size();
 		} else if ( value.getClass().isArray() ) {
 			length = Array.getLength( value );
+		} else {
+			return false;
 		}
-		return Objects.equals( length, target );
+		return length == fragment.getNumberArgument( 0 ).intValue();
 	}
 	
 }
@@ -18,10 +18,9 @@ package com.viiyue.plugins.validator.handler;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import com.viiyue.plugins.validator.constraints.Max;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.NumberArgument;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.utils.TextUtil;
 
@@ -39,8 +38,10 @@ import com.viiyue.plugins.validator.utils.TextUtil;
  * 
  * @see Max
  */
-public final class MaxHandler extends BaseHandler {
+public final class MaxHandler extends BaseHandler implements PrimitiveHandler {
 
+	private static final Class<?> [] SUPPORTED_TYPES = { Number.class, CharSequence.class };
+	
 	public MaxHandler() {
 		super( "max" );
 		super.setArgumentNumber( 1 );
@@ -48,37 +49,43 @@ public final class MaxHandler extends BaseHandler {
 
 	@Override
 	public Class<?> [] supports() {
-		return ArrayUtils.toArray( Number.class, CharSequence.class );
+		return SUPPORTED_TYPES;
+	}
+
+	@Override
+	public void prepare( Fragment fragment ) {
+		fragment.prepareNumberArguments();
 	}
 
 	@Override
 	public boolean doValidate( Object value, Fragment fragment, Context context ) {
+		final NumberArgument maxValue = fragment.getNumberArgument( 0 );
 		if ( value instanceof CharSequence ) {
-			Integer maxValue = fragment.getArgument( 0, Integer.class );
-			Integer target = TextUtil.length( value.toString() );
-			return target <= maxValue;
+			return TextUtil.length( ( CharSequence ) value, context.getLengthMetric() ) <= maxValue.intValue();
 		}
 		if ( value instanceof Double || value instanceof Float ) {
-			Double maxValue = fragment.getArgument( 0, Double.class );
-			Double target = ( ( Number ) value ).doubleValue();
-			return target <= maxValue;
+			return ( ( Number ) value ).doubleValue() <= maxValue.doubleValue();
 		}
 		if ( value instanceof BigDecimal ) {
-			BigDecimal decimal = ( BigDecimal ) value;
-			BigDecimal maxValue = BigDecimal.valueOf( fragment.getArgument( 0, Long.class ) );
-			return decimal.compareTo( maxValue ) <= 0;
+			return ( ( BigDecimal ) value ).compareTo( maxValue.decimalValue() ) <= 0;
 		}
 		if ( value instanceof BigInteger ) {
-			BigInteger bigInt = ( BigInteger ) value;
-			BigInteger maxValue = BigInteger.valueOf( fragment.getArgument( 0, Long.class ) );
-			return bigInt.compareTo( maxValue ) <= 0;
+			return ( ( BigInteger ) value ).compareTo( maxValue.bigIntegerValue() ) <= 0;
 		}
 		if ( value instanceof Number ) {
-			Long maxValue = fragment.getArgument( 0, Long.class );
-			Long target = ( ( Number ) value ).longValue();
-			return target <= maxValue;
+			return ( ( Number ) value ).longValue() <= maxValue.longValue();
 		}
 		return false;
 	}
 	
+	@Override
+	public boolean doHandle( long value, Fragment fragment ) {
+		return value <= fragment.getNumberArgument( 0 ).longValue();
+	}
+	
+	@Override
+	public boolean doHandle( double value, Fragment fragment ) {
+		return value <= fragment.getNumberArgument( 0 ).doubleValue();
+	}
+	
 }
\ No newline at end of file
@@ -18,10 +18,9 @@ package com.viiyue.plugins.validator.handler;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import com.viiyue.plugins.validator.constraints.Min;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.NumberArgument;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.utils.TextUtil;
 
@@ -39,8 +38,10 @@ import com.viiyue.plugins.validator.utils.TextUtil;
  * 
  * @see Min
  */
-public final class MinHandler extends BaseHandler {
+public final class MinHandler extends BaseHandler implements PrimitiveHandler {
 
+	private static final Class<?> [] SUPPORTED_TYPES = { Number.class, CharSequence.class };
+	
 	public MinHandler() {
 		super( "min" );
 		super.setArgumentNumber( 1 );
@@ -48,37 +49,43 @@ public final class MinHandler extends BaseHandler {
 
 	@Override
 	public Class<?> [] supports() {
-		return ArrayUtils.toArray( Number.class, CharSequence.class );
+		return SUPPORTED_TYPES;
+	}
+
+	@Override
+	public void prepare( Fragment fragment ) {
+		fragment.prepareNumberArguments();
 	}
 
 	@Override
 	public boolean doValidate( Object value, Fragment fragment, Context context ) {
+		final NumberArgument minValue = fragment.getNumberArgument( 0 );
 		if ( value instanceof CharSequence ) {
-			Integer minValue = fragment.getArgument( 0, Integer.class );
-			Integer target = TextUtil.length( value.toString() );
-			return target >= minValue;
+			return TextUtil.length( ( CharSequence ) value, context.getLengthMetric() ) >= minValue.intValue();
 		}
 		if ( value instanceof Double || value instanceof Float ) {
-			Double minValue = fragment.getArgument( 0, Double.class );
-			Double target = ( ( Number ) value ).doubleValue();
-			return target >= minValue;
+			return ( ( Number ) value ).doubleValue() >= minValue.doubleValue();
 		}
 		if ( value instanceof BigDecimal ) {
-			BigDecimal decimal = ( BigDecimal ) value;
-			BigDecimal minValue = BigDecimal.valueOf( fragment.getArgument( 0, Long.class ) );
-			return decimal.compareTo( minValue ) >= 0;
+			return ( ( BigDecimal ) value ).compareTo( minValue.decimalValue() ) >= 0;
 		}
 		if ( value instanceof BigInteger ) {
-			BigInteger bigInt = ( BigInteger ) value;
-			BigInteger minValue = BigInteger.valueOf( fragment.getArgument( 0, Long.class ) );
-			return bigInt.compareTo( minValue ) >= 0;
+			return ( ( BigInteger ) value ).compareTo( minValue.bigIntegerValue() ) >= 0;
 		}
 		if ( value instanceof Number ) {
-			Long minValue = fragment.getArgument( 0, Long.class );
-			Long target = ( ( Number ) value ).longValue();
-			return target >= minValue;
+			return ( ( Number ) value ).longValue() >= minValue.longValue();
 		}
 		return false;
 	}
 	
+	@Override
+	public boolean doHandle( long value, Fragment fragment ) {
+		return value >= fragment.getNumberArgument( 0 ).longValue();
+	}
+	
+	@Override
+	public boolean doHandle( double value, Fragment fragment ) {
+		return value >= fragment.getNumberArgument( 0 ).doubleValue();
+	}
+	
 }
\ No newline at end of file
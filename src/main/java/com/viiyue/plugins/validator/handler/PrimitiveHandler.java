@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.handler;
+
+import com.viiyue.plugins.validator.metadata.Fragment;
+
+/**
+ * <p>
+ * The handler that can also validate primitive values without boxing them.
+ * 
+ * <p>
+ * When all fragments of a primitive {@code int}, {@code long} or
+ * {@code double} property are handled by primitive handlers, the property
+ * value is read by {@link com.viiyue.plugins.validator.metadata.accessor.Accessor#getLong(Object)
+ * Accessor#getLong} or {@link com.viiyue.plugins.validator.metadata.accessor.Accessor#getDouble(Object)
+ * Accessor#getDouble} and passed to these methods directly. Only when one of
+ * them rejects the value, it is validated again by
+ * {@link #doHandle(Object, Fragment, com.viiyue.plugins.validator.scripting.Context)}
+ * to build the error message, so the result must be the same as validating
+ * the boxed value.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public interface PrimitiveHandler extends Handler {
+
+	/**
+	 * Validate the value of an {@code int} or {@code long} property
+	 * 
+	 * @param value the target validation value
+	 * @param fragment the fragment of current validation rule
+	 * @return true if the validation is passed, otherwise the validation is rejected.
+	 */
+	boolean doHandle( long value, Fragment fragment );
+
+	/**
+	 * Validate the value of a {@code double} property
+	 * 
+	 * @param value the target validation value
+	 * @param fragment the fragment of current validation rule
+	 * @return true if the validation is passed, otherwise the validation is rejected.
+	 */
+	boolean doHandle( double value, Fragment fragment );
+
+}
@@ -18,10 +18,8 @@ package com.viiyue.plugins.validator.handler;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.Range;
-
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.NumberArgument;
 import com.viiyue.plugins.validator.scripting.Context;
 import com.viiyue.plugins.validator.utils.TextUtil;
 
@@ -39,7 +37,9 @@ import com.viiyue.plugins.validator.utils.TextUtil;
  * 
  * @see com.viiyue.plugins.validator.constraints.Range
  */
-public final class RangeHandler extends BaseHandler {
+public final class RangeHandler extends BaseHandler implements PrimitiveHandler {
+	
+	private static final Class<?> [] SUPPORTED_TYPES = { Number.class, CharSequence.class };
 	
 	public RangeHandler() {
 		super( "range" );
@@ -48,42 +48,64 @@ public final class RangeHandler extends BaseHandler {
 
 	@Override
 	public Class<?> [] supports() {
-		return ArrayUtils.toArray( Number.class, CharSequence.class );
+		return SUPPORTED_TYPES;
+	}
+
+	@Override
+	public void prepare( Fragment fragment ) {
+		fragment.prepareNumberArguments();
 	}
 
 	@Override
 	public boolean doValidate( Object value, Fragment fragment, Context context ) {
+		final NumberArgument min = fragment.getNumberArgument( 0 );
+		final NumberArgument max = fragment.getNumberArgument( 1 );
 		if ( value instanceof CharSequence ) {
-			Integer target = TextUtil.length( value.toString() );
-			Integer min = fragment.getArgument( 0, Integer.class );
-			Integer max = fragment.getArgument( 1, Integer.class );
-			return Range.between( min, max ).contains( target );
+			return between( TextUtil.length( ( CharSequence ) value, context.getLengthMetric() ), min.intValue(), max.intValue() );
 		}
 		if ( value instanceof Double || value instanceof Float ) {
-			Double target = ( ( Number ) value ).doubleValue();
-			Double min = fragment.getArgument( 0, Double.class );
-			Double max = fragment.getArgument( 1, Double.class );
-			return Range.between( min, max ).contains( target );
+			return between( ( ( Number ) value ).doubleValue(), min.doubleValue(), max.doubleValue() );
 		}
 		if ( value instanceof BigDecimal ) {
-			BigDecimal target = ( BigDecimal ) value;
-			BigDecimal min = BigDecimal.valueOf( fragment.getArgument( 0, Long.class ) );
-			BigDecimal max = BigDecimal.valueOf( fragment.getArgument( 1, Long.class ) );
-			return Range.between( min, max ).contains( target );
+			return between( ( BigDecimal ) value, min.decimalValue(), max.decimalValue() );
 		}
 		if ( value instanceof BigInteger ) {
-			BigInteger target = ( BigInteger ) value;
-			BigInteger min = BigInteger.valueOf( fragment.getArgument( 0, Long.class ) );
-			BigInteger max = BigInteger.valueOf( fragment.getArgument( 1, Long.class ) );
-			return Range.between( min, max ).contains( target );
+			return between( ( BigInteger ) value, min.bigIntegerValue(), max.bigIntegerValue() );
 		}
 		if ( value instanceof Number ) {
-			Long target = ( ( Number ) value ).longValue();
-			Long min = fragment.getArgument( 0, Long.class );
-			Long max = fragment.getArgument( 1, Long.class );
-			return Range.between( min, max ).contains( target );
+			return between( ( ( Number ) value ).longValue(), min.longValue(), max.longValue() );
 		}
 		return false;
 	}
 	
+	@Override
+	public boolean doHandle( long value, Fragment fragment ) {
+		return between( value, fragment.getNumberArgument( 0 ).longValue(), fragment.getNumberArgument( 1 ).longValue() );
+	}
+	
+	@Override
+	public boolean doHandle( double value, Fragment fragment ) {
+		return between( value, fragment.getNumberArgument( 0 ).doubleValue(), fragment.getNumberArgument( 1 ).doubleValue() );
+	}
+	
+	// The boundaries are swapped if they are in reverse order, the same as Range.between(...)
+	
+	private static boolean between( long target, long from, long to ) {
+		return from <= to ? ( target >= from && target <= to ) : ( target >= to && target <= from );
+	}
+	
+	private static boolean between( double target, double from, double to ) {
+		if ( Double.compare( from, to ) > 0 ) {
+			return Double.compare( target, to ) >= 0 && Double.compare( target, from ) <= 0;
+		}
+		return Double.compare( target, from ) >= 0 && Double.compare( target, to ) <= 0;
+	}
+	
+	private static <T extends Comparable<T>> boolean between( T target, T from, T to ) {
+		if ( from.compareTo( to ) > 0 ) {
+			return target.compareTo( to ) >= 0 && target.compareTo( from ) <= 0;
+		}
+		return target.compareTo( from ) >= 0 && target.compareTo( to ) <= 0;
+	}
+	
 }
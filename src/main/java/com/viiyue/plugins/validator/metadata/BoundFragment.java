@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.viiyue.plugins.validator.handler.Handler;
+
+/**
+ * <p>
+ * Validation rule fragment bound to its handler.
+ * 
+ * <p>
+ * The handler and its type support for the declared value type are resolved
+ * once when the rule is compiled, so validating a value no longer needs to
+ * look up the handler by name or check the supported types again.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class BoundFragment {
+	
+	private static final int SUPPORTED = 1;
+	private static final int UNSUPPORTED = 2;
+	private static final int UNDETERMINED = 3;
+
+	private final Fragment fragment;
+	private final Handler handler;
+	private final int support;
+
+	private BoundFragment( Fragment fragment, Handler handler, Class<?> declaredType ) {
+		this.fragment = fragment;
+		this.handler = handler;
+		this.support = resolveSupport( handler, declaredType );
+	}
+
+	public Fragment getFragment() {
+		return fragment;
+	}
+
+	/**
+	 * @return the bound handler, or {@code null} if no handler is found.
+	 */
+	public Handler getHandler() {
+		return handler;
+	}
+	
+	/**
+	 * Does the bound handler support the value? Only when the declared type
+	 * cannot determine the result, the actual value type is checked.
+	 * 
+	 * @param value the target value, cannot be null.
+	 * @return true for support, otherwise it is not supported.
+	 */
+	public boolean isSupported( Object value ) {
+		if ( support == UNDETERMINED ) {
+			return handler.support( value.getClass() );
+		}
+		return support == SUPPORTED;
+	}
+	
+	@Override
+	public String toString() {
+		return fragment.toString();
+	}
+	
+	/**
+	 * Bind the fragments to the handlers with the same name
+	 * 
+	 * @param fragments the rule fragments
+	 * @param handlers all registered handlers, may be {@code null}.
+	 * @param declaredType the declared type of the value, {@code null} if unknown.
+	 * @return the bound fragments that cannot be modified, or {@code null} if there are no fragments.
+	 */
+	public static final List<BoundFragment> bind( List<Fragment> fragments, Map<String, Handler> handlers, Class<?> declaredType ) {
+		if ( fragments == null || fragments.isEmpty() ) {
+			return null;
+		}
+		List<BoundFragment> bounds = new ArrayList<BoundFragment>( fragments.size() );
+		for ( Fragment fragment : fragments ) {
+			bounds.add( new BoundFragment( fragment, handlers == null ? null : handlers.get( fragment.getName() ), declaredType ) );
+		}
+		return Collections.unmodifiableList( bounds );
+	}
+	
+	/**
+	 * The value type of a final declared type is always the declared type
+	 * itself (primitive values are always boxed), and the supported types are
+	 * inherited by their subtypes, so the result can be determined in advance.
+	 */
+	private static int resolveSupport( Handler handler, Class<?> declaredType ) {
+		if ( handler == null || declaredType == null ) {
+			return UNDETERMINED;
+		}
+		if ( declaredType.isPrimitive() ) {
+			declaredType = ClassUtils.primitiveToWrapper( declaredType );
+		}
+		if ( handler.support( declaredType ) ) {
+			return SUPPORTED;
+		}
+		if ( !declaredType.isArray() && Modifier.isFinal( declaredType.getModifiers() ) ) {
+			return UNSUPPORTED;
+		}
+		return UNDETERMINED;
+	}
+
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import java.util.List;
 
 import com.viiyue.plugins.validator.annotation.When;
+import com.viiyue.plugins.validator.metadata.accessor.Accessor;
 import com.viiyue.plugins.validator.utils.Assert;
 import com.viiyue.plugins.validator.utils.MethodUtil;
 import com.viiyue.plugins.validator.utils.PropertyUtil;
@@ -40,8 +41,10 @@ public final class Element {
 	private final Method getter;
 	private final Method setter;
 	private final boolean isJavaBean;
+	private final MessageKeys.Cache messageKeys;
 
 	private String label;
+	private Accessor accessor;
 	private List<Fragment> fragments;
 	private Conditional conditional;
 	
@@ -50,11 +53,29 @@ public final class Element {
 	}
 	
 	public Element( Field field, boolean isJavaBean ) {
+		this( field, isJavaBean, false );
+	}
+	
+	/**
+	 * @param field the bean field
+	 * @param isJavaBean whether the field is a nested java bean
+	 * @param accessorOnly true if the value is only read by the accessor, such
+	 * as reading the field directly or the generated accessors, the bean does
+	 * not need to be a standard java bean and no getter or setter is looked up.
+	 * @since 1.0.5
+	 */
+	public Element( Field field, boolean isJavaBean, boolean accessorOnly ) {
 		this.field = field;
 		this.beanType = field.getDeclaringClass();
 		this.fieldType = field.getType();
 		this.property = field.getName();
 		this.isJavaBean = isJavaBean;
+		this.messageKeys = new MessageKeys.Cache( fieldType );
+		if ( accessorOnly ) {
+			this.getter = null;
+			this.setter = null;
+			return;
+		}
 		PropertyDescriptor descriptor = PropertyUtil.getDescriptor( this.beanType, this.property );
 		Assert.notNull( descriptor != null, "Entity \"{}\" is not a standard java bean", this.beanType );
 		this.getter = descriptor.getReadMethod();
@@ -91,6 +112,10 @@ public final class Element {
 	public String getLabel() {
 		return label;
 	}
+	
+	public Accessor getAccessor() {
+		return accessor;
+	}
 
 	public List<Fragment> getFragments() {
 		return fragments;
@@ -104,12 +129,31 @@ public final class Element {
 		return isJavaBean;
 	}
 	
+	/**
+	 * Get the message key chain of the fragment for this element, which is
+	 * built only once.
+	 * 
+	 * @param fragmentName the fragment name
+	 * @param supplement the supplementary key, may be null.
+	 * @return the message key chain
+	 * @since 1.0.5
+	 */
+	public MessageKeys getMessageKeys( String fragmentName, String supplement ) {
+		return messageKeys.get( fragmentName, supplement );
+	}
+	
 	// Setter
 
 	public void setLabel( String label ) {
 		this.label = label;
 	}
 
+	public void setAccessor( Accessor accessor ) {
+		if ( this.accessor == null ) {
+			this.accessor = accessor;
+		}
+	}
+
 	public void setFragments( List<Fragment> fragments ) {
 		if ( this.fragments == null ) {
 			this.fragments = fragments;
@@ -129,7 +173,14 @@ public final class Element {
 	}
 	
 	public Object getValue( Object instance ) {
-		return MethodUtil.invoke( instance, getter );
+		if ( instance == null ) {
+			return null;
+		}
+		if ( accessor == null ) {
+			Assert.notNull( getter, "Accessor for field \"{0}\" not found", this.property );
+			return MethodUtil.invoke( instance, getter );
+		}
+		return accessor.getValue( instance );
 	}
 	
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.viiyue.plugins.validator.annotation.Label;
+
+/**
+ * <p>
+ * Immutable validation plan of all parameters of a method under the specified
+ * groups.
+ * 
+ * <p>
+ * The plan is compiled once for each (method, groups), the parameter names,
+ * labels and the fragments bound to their handlers are all resolved in
+ * advance, and the parameters without any rules are left out, so validating
+ * the arguments does not need any reflection or cache lookup.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class ExecutablePlan {
+
+	private final int parameterCount;
+	private final List<ParameterPlan> parameters;
+
+	private ExecutablePlan( int parameterCount, List<ParameterPlan> parameters ) {
+		this.parameterCount = parameterCount;
+		this.parameters = parameters.isEmpty() ? Collections.<ParameterPlan>emptyList() : Collections.unmodifiableList( parameters );
+	}
+
+	/**
+	 * @return the number of parameters declared by the method
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * @return the number of parameters with rules
+	 */
+	public int size() {
+		return parameters.size();
+	}
+
+	public boolean isEmpty() {
+		return parameters.isEmpty();
+	}
+
+	/**
+	 * @return plans of the parameters with rules in declaration order, which cannot be modified.
+	 */
+	public List<ParameterPlan> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Compile the validation plan of the method parameters
+	 * 
+	 * @param method the target method
+	 * @param fragments the filtered and bound fragments of each parameter, in declaration order.
+	 * @return the immutable validation plan
+	 */
+	public static final ExecutablePlan of( Method method, List<List<BoundFragment>> fragments ) {
+		Parameter [] parameters = method.getParameters();
+		List<ParameterPlan> plans = new ArrayList<ParameterPlan>( parameters.length );
+		for ( int i = 0; i < parameters.length; i ++ ) {
+			List<BoundFragment> boundFragments = fragments.get( i );
+			if ( boundFragments != null ) {
+				Parameter parameter = parameters[ i ];
+				Label label = parameter.getAnnotation( Label.class );
+				String labelText = label == null || StringUtils.isEmpty( label.value() ) ? parameter.getName() : label.value();
+				plans.add( new ParameterPlan( i, parameter.getName(), labelText, boundFragments ) );
+			}
+		}
+		return new ExecutablePlan( parameters.length, plans );
+	}
+
+	/**
+	 * Validation plan of a single parameter
+	 */
+	public static final class ParameterPlan {
+
+		private final int index;
+		private final String name;
+		private final String label;
+		private final List<BoundFragment> fragments;
+
+		private ParameterPlan( int index, String name, String label, List<BoundFragment> fragments ) {
+			this.index = index;
+			this.name = name;
+			this.label = label;
+			this.fragments = fragments;
+		}
+
+		/**
+		 * @return the parameter index of the method
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		 * @return the fragments filtered by groups and bound to handlers, never {@code null}.
+		 */
+		public List<BoundFragment> getFragments() {
+			return fragments;
+		}
+
+	}
+
+}
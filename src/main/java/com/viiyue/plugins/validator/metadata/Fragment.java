@@ -50,6 +50,8 @@ public final class Fragment {
 	private Object [] arguments;
 	private String message;
 	private String template;
+	private volatile NumberArgument [] numberArguments;
+	private boolean frozen;
 
 	public Fragment() {
 	}
@@ -65,7 +67,7 @@ public final class Fragment {
 	}
 
 	public Set<String> getGroups() {
-		return groups == null ? null : Collections.unmodifiableSet( groups );
+		return groups == null || frozen ? groups : Collections.unmodifiableSet( groups );
 	}
 
 	public Object [] getArguments() {
@@ -83,12 +85,14 @@ public final class Fragment {
 	// Setter
 	
 	public Fragment name( String name ) {
+		checkModifiable();
 		this.name = name;
 		this.template = name;
 		return this;
 	}
 	
 	public Fragment groups( String[] groups ) {
+		checkModifiable();
 		if ( ArrayUtil.isNotEmpty( groups ) ) {
 			this.groups = new HashSet<String>( groups.length );
 			for ( String group : groups ) {
@@ -101,6 +105,7 @@ public final class Fragment {
 	}
 
 	public Fragment groups( Class<?>[] groups ) {
+		checkModifiable();
 		if ( ArrayUtil.isNotEmpty( groups ) ) {
 			this.groups = new HashSet<String>( groups.length );
 			for ( Class<?> group : groups ) {
@@ -112,6 +117,7 @@ public final class Fragment {
 	
 	public Fragment addGroup( String group ) {
 		Assert.notNull( group, "'group' is required" );
+		checkModifiable();
 		if ( groups == null ) {
 			this.groups = new HashSet<String>( 4 );
 		}
@@ -125,18 +131,29 @@ public final class Fragment {
 	}
 	
 	public Fragment arguments( Object ... arguments ) {
+		checkModifiable();
 		this.arguments = arguments;
+		this.numberArguments = null;
 		this.template = this.name + ( ArrayUtil.isEmpty( arguments ) ? "" : "(...)" );
 		return this;
 	}
 
 	public Fragment message( String message ) {
+		checkModifiable();
 		this.message = message;
 		return this;
 	}
 	
 	// Helper method
 	
+	/**
+	 * @return true if the fragment is shared by {@link FragmentInterner} and cannot be modified
+	 * @since 1.0.5
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
 	public boolean hasGroups() {
 		return groups != null;
 	}
@@ -199,6 +216,56 @@ public final class Fragment {
 		}
 	}
 
+	/**
+	 * Get the pre-converted numeric argument, it will be prepared if it is
+	 * not prepared at compile time.
+	 * 
+	 * @param index the argument index
+	 * @return the numeric argument, or {@code null} if the index is out of range.
+	 * @since 1.0.5
+	 * @see #prepareNumberArguments()
+	 */
+	public NumberArgument getNumberArgument( int index ) {
+		NumberArgument [] prepared = numberArguments;
+		if ( prepared == null ) {
+			prepared = prepareNumberArguments();
+		}
+		return index >= 0 && index < prepared.length ? prepared[ index ] : null;
+	}
+	
+	/**
+	 * Convert all arguments to numeric types in advance, which is usually
+	 * called by the numeric handlers when the fragment is compiled.
+	 * 
+	 * @return the prepared numeric arguments
+	 * @since 1.0.5
+	 */
+	public NumberArgument [] prepareNumberArguments() {
+		NumberArgument [] prepared = numberArguments;
+		if ( prepared == null ) {
+			int size = argumentNumber();
+			prepared = new NumberArgument[ size ];
+			for ( int i = 0; i < size; i ++ ) {
+				prepared[ i ] = new NumberArgument( this, i );
+			}
+			this.numberArguments = prepared;
+		}
+		return prepared;
+	}
+
+	Set<String> groupSet() {
+		return groups;
+	}
+	
+	void freeze( Set<String> canonicalGroups ) {
+		this.groups = canonicalGroups;
+		this.frozen = true;
+	}
+	
+	private void checkModifiable() {
+		Assert.isFalse( frozen, "Fragment \"{0}\" is shared and cannot be modified", template );
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + "[ " + template + " ]" + "@" + Integer.toHexString( hashCode() );
@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.viiyue.plugins.validator.scripting.CacheableContent;
+
+/**
+ * <p>
+ * Flyweight of the compiled rule fragments. Equal fragments, that is the same
+ * name, arguments, message and groups, share one canonical instance, no
+ * matter whether they come from annotations or template rules. For example,
+ * thousands of fields annotated with {@code @NotBlank} or {@code @Max(255)}
+ * hold the same fragment. Equal group sets of different fragments are shared
+ * as well.
+ * 
+ * <p>
+ * The interned fragments are frozen and cannot be modified any more. The
+ * caches are bounded by the maximum cache size, the fragments that are
+ * evicted are simply no longer shared with the fragments compiled later.
+ * 
+ * <p>
+ * The caches are shared by the whole JVM, so only the fragments whose
+ * arguments are JDK value types, such as strings, numbers, booleans,
+ * characters, regular expressions and JDK enums, are interned. The fragments
+ * with any other argument are returned as they are, otherwise the cache
+ * would keep the class loader of the argument alive after the application
+ * is redeployed.
+ * 
+ * <p>#ThreadSafe#</p>
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class FragmentInterner {
+
+	private FragmentInterner() {}
+
+	private static final CacheableContent<FragmentKey, Fragment> fragments = new CacheableContent<FragmentKey, Fragment>( 1 << 8 ); // 256
+	private static final CacheableContent<Set<String>, Set<String>> groupSets = new CacheableContent<Set<String>, Set<String>>( 1 << 4 ); // 16
+	private static final CacheableContent.Provider<Set<String>, Set<String>> groupSetProvider = new CacheableContent.Provider<Set<String>, Set<String>>() {
+		@Override
+		public Set<String> create( Set<String> groups ) {
+			return Collections.unmodifiableSet( groups );
+		}
+	};
+	private static final CacheableContent.Provider<FragmentKey, Fragment> fragmentProvider = new CacheableContent.Provider<FragmentKey, Fragment>() {
+		@Override
+		public Fragment create( FragmentKey key ) {
+			Fragment fragment = key.fragment;
+			fragment.freeze( fragment.hasGroups() ? groupSets.getOrPut( fragment.groupSet(), groupSetProvider ) : null );
+			return fragment;
+		}
+	};
+
+	/**
+	 * Get the canonical instance of the fragment
+	 * 
+	 * @param fragment the compiled fragment, may be null.
+	 * @return the canonical fragment that cannot be modified, or the fragment
+	 * itself if its arguments are not JDK value types.
+	 */
+	public static Fragment intern( Fragment fragment ) {
+		if ( fragment == null || fragment.isFrozen() || !isValue( fragment.getArguments() ) ) {
+			return fragment;
+		}
+		return fragments.getOrPut( new FragmentKey( fragment ), fragmentProvider );
+	}
+
+	/**
+	 * Replace the fragments of the list with their canonical instances
+	 * 
+	 * @param fragmentsList the modifiable list of compiled fragments
+	 * @return the same list
+	 */
+	public static List<Fragment> intern( List<Fragment> fragmentsList ) {
+		for ( int i = 0, size = fragmentsList.size(); i < size; i ++ ) {
+			Fragment fragment = fragmentsList.get( i );
+			Fragment canonical = intern( fragment );
+			if ( canonical != fragment ) {
+				fragmentsList.set( i, canonical );
+			}
+		}
+		return fragmentsList;
+	}
+
+	/**
+	 * Limit the number of interned fragments and group sets, the caches are
+	 * shared by all factories and the last call wins.
+	 * 
+	 * @param maximumSize the maximum number of entries of each cache, unlimited if it is less than or equal to 0.
+	 */
+	public static void setMaximumCacheSize( int maximumSize ) {
+		fragments.setMaximumSize( maximumSize );
+		groupSets.setMaximumSize( maximumSize );
+	}
+
+	/**
+	 * @return the statistics of the interned fragments and group sets
+	 */
+	public static Map<String, CacheableContent.Statistics> getCacheStatistics() {
+		Map<String, CacheableContent.Statistics> statistics = new LinkedHashMap<String, CacheableContent.Statistics>( 4 );
+		statistics.put( "interner.fragments", fragments.getStatistics() );
+		statistics.put( "interner.groups", groupSets.getStatistics() );
+		return statistics;
+	}
+
+	/**
+	 * Whether the argument is a JDK value that cannot reference any class
+	 * loader other than the bootstrap class loader
+	 */
+	private static boolean isValue( Object argument ) {
+		if ( argument == null ) {
+			return true;
+		}
+		if ( argument instanceof Object [] ) {
+			if ( argument.getClass().getComponentType().getClassLoader() != null ) {
+				return false;
+			}
+			for ( Object element : ( Object [] ) argument ) {
+				if ( !isValue( element ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		Class<?> type = argument.getClass();
+		if ( type.isArray() ) {
+			return type.getComponentType().isPrimitive();
+		}
+		if ( type.getClassLoader() != null ) {
+			return false;
+		}
+		return argument instanceof String || argument instanceof Number || argument instanceof Boolean 
+			|| argument instanceof Character || argument instanceof Enum || argument instanceof Pattern;
+	}
+
+	/**
+	 * The fragment compared by value, the arguments that do not override
+	 * {@code equals} such as the regular expressions are compared by identity.
+	 */
+	private static final class FragmentKey {
+
+		private final Fragment fragment;
+		private final int hashCode;
+
+		private FragmentKey( Fragment fragment ) {
+			this.fragment = fragment;
+			this.hashCode = Objects.hash( fragment.getName(), fragment.getMessage(), fragment.groupSet() ) * 31 + Arrays.deepHashCode( fragment.getArguments() );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals( Object obj ) {
+			if ( !( obj instanceof FragmentKey ) ) {
+				return false;
+			}
+			Fragment other = ( ( FragmentKey ) obj ).fragment;
+			return Objects.equals( fragment.getName(), other.getName() ) 
+				&& Objects.equals( fragment.getMessage(), other.getMessage() ) 
+				&& Objects.equals( fragment.groupSet(), other.groupSet() ) 
+				&& Arrays.deepEquals( fragment.getArguments(), other.getArguments() );
+		}
+
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.viiyue.plugins.validator.scripting.message.MessageResolver;
+import com.viiyue.plugins.validator.utils.ClassUtil;
+
+/**
+ * <p>
+ * The message key chain of a validation rule fragment, the most specific key
+ * comes first, for example:
+ *
+ * <pre>
+ * max.java.lang.String
+ * max
+ * </pre>
+ *
+ * <p>
+ * The chain is built only once for each (element, fragment, supplement), and
+ * the keys prefixed by the message resolver are also cached, so rejected
+ * values no longer need to build any key strings.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class MessageKeys {
+
+	private static final Cache untypedKeys = new Cache( null );
+
+	private final String [] keys;
+	private volatile PrefixedKeys prefixedKeys;
+
+	private MessageKeys( String [] keys ) {
+		this.keys = keys;
+	}
+
+	/**
+	 * @return the message keys, which must not be modified.
+	 */
+	public String [] getKeys() {
+		return keys;
+	}
+
+	/**
+	 * @return the last message key, which is the base key of the fragment.
+	 */
+	public String getBaseKey() {
+		return keys[ keys.length - 1 ];
+	}
+
+	/**
+	 * Get the message keys prefixed by the message resolver, which must not be
+	 * modified.
+	 *
+	 * @param resolver the message resolver
+	 * @return the prefixed message keys
+	 */
+	public String [] getPrefixedKeys( MessageResolver resolver ) {
+		PrefixedKeys prefixed = prefixedKeys;
+		if ( prefixed == null || prefixed.resolver != resolver ) {
+			String [] messageKeys = new String[ keys.length ];
+			for ( int i = 0; i < keys.length; i ++ ) {
+				messageKeys[ i ] = resolver.getMessageKey( keys[ i ] );
+			}
+			this.prefixedKeys = prefixed = new PrefixedKeys( resolver, messageKeys );
+		}
+		return prefixed.keys;
+	}
+
+	/**
+	 * Get the message keys of the value without the element, such as the
+	 * template rules and the method parameters.
+	 *
+	 * @param fragmentName the fragment name
+	 * @param supplement the supplementary key, may be null.
+	 * @return the cached message keys
+	 */
+	public static final MessageKeys untyped( String fragmentName, String supplement ) {
+		return untypedKeys.get( fragmentName, supplement );
+	}
+
+	private static MessageKeys create( Class<?> type, String fragmentName, String supplement ) {
+		String baseKey = fragmentName;
+		if ( StringUtils.isNotEmpty( supplement ) ) {
+			baseKey += "." + supplement;
+		}
+		if ( type == null ) {
+			return new MessageKeys( new String[] { baseKey } );
+		}
+		Set<Class<?>> allTypes = ClassUtil.getAllSuperclasses( type );
+		int index = 0, size = allTypes.size();
+		String [] messageKeys = new String[ size + 1 ];
+		for ( Class<?> superType : allTypes ) {
+			messageKeys[ index ++ ] = baseKey + "." + superType.getName();
+		}
+		messageKeys[ size ] = baseKey;
+		return new MessageKeys( messageKeys );
+	}
+
+	private static final class PrefixedKeys {
+
+		private final MessageResolver resolver;
+		private final String [] keys;
+
+		private PrefixedKeys( MessageResolver resolver, String [] keys ) {
+			this.resolver = resolver;
+			this.keys = keys;
+		}
+
+	}
+
+	/**
+	 * The message keys of the same value type, grouped by fragment name and
+	 * supplementary key.
+	 */
+	public static final class Cache {
+
+		private final Class<?> type;
+		private final ConcurrentMap<String, ConcurrentMap<String, MessageKeys>> caches = new ConcurrentHashMap<String, ConcurrentMap<String, MessageKeys>>( 8 );
+
+		/**
+		 * @param type the value type, null if unknown.
+		 */
+		public Cache( Class<?> type ) {
+			this.type = type;
+		}
+
+		/**
+		 * @param fragmentName the fragment name
+		 * @param supplement the supplementary key, may be null.
+		 * @return the cached message keys
+		 */
+		public MessageKeys get( String fragmentName, String supplement ) {
+			ConcurrentMap<String, MessageKeys> supplements = caches.get( fragmentName );
+			if ( supplements == null ) {
+				supplements = new ConcurrentHashMap<String, MessageKeys>( 4 );
+				ConcurrentMap<String, MessageKeys> existing = caches.putIfAbsent( fragmentName, supplements );
+				supplements = existing == null ? supplements : existing;
+			}
+			String supplementKey = supplement == null ? "" : supplement;
+			MessageKeys messageKeys = supplements.get( supplementKey );
+			if ( messageKeys == null ) {
+				messageKeys = create( type, fragmentName, supplement );
+				MessageKeys existing = supplements.putIfAbsent( supplementKey, messageKeys );
+				messageKeys = existing == null ? messageKeys : existing;
+			}
+			return messageKeys;
+		}
+
+	}
+
+}
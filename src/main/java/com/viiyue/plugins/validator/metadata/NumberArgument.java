@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.viiyue.plugins.validator.exception.TypeMismatchException;
+
+/**
+ * <p>
+ * Pre-converted numeric argument of the validation rule fragment.
+ *
+ * <p>
+ * The argument is converted to all numeric types supported by the numeric
+ * handlers only once, so that the handlers can compare the primitive values
+ * directly without any conversion or allocation. The conversion result is
+ * exactly the same as {@link Fragment#getArgument(int, Class)}, and if the
+ * argument cannot be converted to a certain type, the mismatch exception is
+ * thrown when the value of that type is read.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class NumberArgument {
+
+	private final Object argument;
+	private final Integer intValue;
+	private final Long longValue;
+	private final Double doubleValue;
+	private final BigDecimal decimalValue;
+	private final BigInteger bigIntegerValue;
+
+	NumberArgument( Fragment fragment, int index ) {
+		this.argument = fragment.getArgument( index );
+		this.intValue = convert( fragment, index, Integer.class );
+		this.longValue = convert( fragment, index, Long.class );
+		this.doubleValue = convert( fragment, index, Double.class );
+		this.decimalValue = longValue == null ? null : BigDecimal.valueOf( longValue );
+		this.bigIntegerValue = longValue == null ? null : BigInteger.valueOf( longValue );
+	}
+
+	public Object getArgument() {
+		return argument;
+	}
+
+	public int intValue() {
+		return required( intValue, Integer.class );
+	}
+
+	public long longValue() {
+		return required( longValue, Long.class );
+	}
+
+	public double doubleValue() {
+		return required( doubleValue, Double.class );
+	}
+
+	public BigDecimal decimalValue() {
+		return required( decimalValue, Long.class );
+	}
+
+	public BigInteger bigIntegerValue() {
+		return required( bigIntegerValue, Long.class );
+	}
+
+	private <T> T required( T value, Class<?> type ) {
+		if ( value == null ) {
+			throw new TypeMismatchException( type, "Parameter value <{0}> does not match type <{1}>", argument, type.getName() );
+		}
+		return value;
+	}
+
+	private static <T> T convert( Fragment fragment, int index, Class<T> type ) {
+		try {
+			Object value = fragment.getArgument( index, type );
+			return type.isInstance( value ) ? type.cast( value ) : null;
+		} catch ( TypeMismatchException e ) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.ClassUtils;
+
+import com.viiyue.plugins.validator.common.Constants;
+import com.viiyue.plugins.validator.handler.Handler;
+import com.viiyue.plugins.validator.handler.PrimitiveHandler;
+import com.viiyue.plugins.validator.metadata.accessor.Accessor;
+
+/**
+ * <p>
+ * Immutable validation plan of a java bean under the specified groups.
+ * 
+ * <p>
+ * The plan is compiled once for each (bean class, groups) and holds the
+ * fragments of every element that have been filtered by groups and bound to
+ * their handlers, so no group filtering or handler lookup is needed when
+ * validating. Unconditional elements and conditional elements are separated
+ * in advance.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class ValidationPlan {
+
+	private static final ElementPlan [] EMPTY_PLANS = new ElementPlan[ 0 ];
+	
+	private final int size;
+	private final ElementPlan [] unconditionals;
+	private final ElementPlan [] conditionals;
+
+	private ValidationPlan( List<ElementPlan> unconditionals, List<ElementPlan> conditionals ) {
+		this.unconditionals = unconditionals.toArray( EMPTY_PLANS );
+		this.conditionals = conditionals.toArray( EMPTY_PLANS );
+		this.size = this.unconditionals.length + this.conditionals.length;
+	}
+
+	/**
+	 * @return the total number of elements
+	 */
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return element plans without {@code @When} conditions
+	 */
+	public ElementPlan [] getUnconditionals() {
+		return unconditionals;
+	}
+	
+	/**
+	 * @return element plans with {@code @When} conditions
+	 */
+	public ElementPlan [] getConditionals() {
+		return conditionals;
+	}
+	
+	/**
+	 * Compile the validation plan of elements under the specified groups
+	 * 
+	 * @param elements the compiled bean elements
+	 * @param handlers all registered handlers
+	 * @param groups the validation groups
+	 * @return the immutable validation plan
+	 */
+	public static final ValidationPlan of( List<Element> elements, Map<String, Handler> handlers, Class<?> ... groups ) {
+		if ( CollectionUtils.isEmpty( elements ) ) {
+			return new ValidationPlan( Collections.<ElementPlan>emptyList(), Collections.<ElementPlan>emptyList() );
+		}
+		List<ElementPlan> unconditionals = new ArrayList<ElementPlan>( elements.size() );
+		List<ElementPlan> conditionals = new ArrayList<ElementPlan>( 4 );
+		for ( Element element : elements ) {
+			List<Fragment> fragments = filter( element.getFragments(), groups );
+			ElementPlan plan = new ElementPlan( element, BoundFragment.bind( fragments, handlers, element.getFieldType() ) );
+			if ( element.isUnconditional() ) {
+				unconditionals.add( plan );
+			} else {
+				conditionals.add( plan );
+			}
+		}
+		return new ValidationPlan( unconditionals, conditionals );
+	}
+	
+	/**
+	 * Filter out the fragments of the specified groups, the result cannot be
+	 * modified.
+	 * 
+	 * @param fragments the rule fragments
+	 * @param groups the validation groups
+	 * @return the filtered fragments, or {@code null} if there are no fragments.
+	 */
+	public static final List<Fragment> filter( List<Fragment> fragments, Class<?> ... groups ) {
+		if ( CollectionUtils.isEmpty( fragments ) ) {
+			return null;
+		}
+		if ( isDefaultGroups( groups ) ) {
+			return Collections.unmodifiableList( fragments );
+		}
+		List<Fragment> filteredFragments = new ArrayList<Fragment>( fragments.size() );
+		for ( Class<?> group : groups ) {
+			for ( Fragment fragment : fragments ) {
+				if ( fragment.isInGroup( group ) && !filteredFragments.contains( fragment ) ) {
+					filteredFragments.add( fragment );
+				}
+			}
+		}
+		return filteredFragments.isEmpty() ? null : Collections.unmodifiableList( filteredFragments );
+	}
+	
+	/**
+	 * @param groups the validation groups
+	 * @return {@code true} if no specific groups are specified
+	 */
+	public static final boolean isDefaultGroups( Class<?> ... groups ) {
+		return ArrayUtils.isEmpty( groups ) || Objects.equals( Constants.DEFAULT_GROUP, groups[ 0 ] );
+	}
+	
+	/**
+	 * Validation plan of a single element
+	 */
+	public static final class ElementPlan {
+		
+		private final Element element;
+		private final List<BoundFragment> fragments;
+		private final Class<?> primitiveType;
+		
+		private ElementPlan( Element element, List<BoundFragment> fragments ) {
+			this.element = element;
+			this.fragments = fragments;
+			this.primitiveType = resolvePrimitiveType( element, fragments );
+		}
+		
+		public Element getElement() {
+			return element;
+		}
+		
+		/**
+		 * @return the fragments filtered by groups and bound to handlers, may be {@code null}.
+		 */
+		public List<BoundFragment> getFragments() {
+			return fragments;
+		}
+		
+		/**
+		 * @return {@code long.class} or {@code double.class} if the value can
+		 * be read by the accessor and validated by {@link PrimitiveHandler}
+		 * without boxing, otherwise {@code null}.
+		 */
+		public Class<?> getPrimitiveType() {
+			return primitiveType;
+		}
+		
+		private static Class<?> resolvePrimitiveType( Element element, List<BoundFragment> fragments ) {
+			final Accessor accessor = element.getAccessor();
+			if ( fragments == null || accessor == null ) {
+				return null;
+			}
+			final Class<?> type = accessor.getType();
+			final Class<?> primitiveType = type == int.class || type == long.class ? long.class : type == double.class ? double.class : null;
+			if ( primitiveType == null ) {
+				return null;
+			}
+			for ( BoundFragment binding : fragments ) {
+				Handler handler = binding.getHandler();
+				if ( !( handler instanceof PrimitiveHandler ) || !handler.support( ClassUtils.primitiveToWrapper( type ) ) ) {
+					return null;
+				}
+			}
+			return primitiveType;
+		}
+		
+	}
+
+}
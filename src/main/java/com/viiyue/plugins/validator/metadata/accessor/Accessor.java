@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata.accessor;
+
+/**
+ * Property value accessor bound to a single bean property.
+ * 
+ * <p>
+ * The accessor is created once when the bean is compiled, so reading the
+ * property value no longer needs to go through {@code Method.invoke}. The
+ * primitive variants allow {@code int}, {@code long} and {@code double}
+ * properties to be read without boxing, they are used instead of
+ * {@link #getValue(Object)} when all fragments of the property are handled by
+ * {@link com.viiyue.plugins.validator.handler.PrimitiveHandler}.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see AccessorFactory
+ */
+public interface Accessor {
+
+	/**
+	 * @return the property value type
+	 */
+	Class<?> getType();
+
+	/**
+	 * @return {@code true} if the property type is a primitive type
+	 */
+	boolean isPrimitive();
+
+	/**
+	 * Read the property value of the given instance
+	 * 
+	 * @param instance the bean instance
+	 * @return the property value, primitive values will be boxed.
+	 */
+	Object getValue( Object instance );
+
+	/**
+	 * Read the property value of the given instance as {@code int}
+	 * 
+	 * @param instance the bean instance
+	 * @return the int property value
+	 */
+	int getInt( Object instance );
+
+	/**
+	 * Read the property value of the given instance as {@code long}
+	 * 
+	 * @param instance the bean instance
+	 * @return the long property value
+	 */
+	long getLong( Object instance );
+
+	/**
+	 * Read the property value of the given instance as {@code double}
+	 * 
+	 * @param instance the bean instance
+	 * @return the double property value
+	 */
+	double getDouble( Object instance );
+
+}
@@ -0,0 +1,359 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata.accessor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import com.viiyue.plugins.validator.exception.ReflectionException;
+import com.viiyue.plugins.validator.utils.Assert;
+import com.viiyue.plugins.validator.utils.MethodUtil;
+
+/**
+ * <p>
+ * Property accessor factory, generates the accessor of the getter method.
+ * 
+ * <p>
+ * If the getter method is visible to the current class loader, a functional
+ * object is generated through {@link LambdaMetafactory}, which is as fast as
+ * calling the getter method directly, and {@code int}, {@code long},
+ * {@code double} getters use the primitive functional interfaces to avoid
+ * boxing. Otherwise, use {@link MethodHandle} to access the getter method.
+ * 
+ * <p>
+ * The fields of the beans without getters are read by the field getter
+ * {@link MethodHandle}, without any introspection.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class AccessorFactory {
+
+	private AccessorFactory() {}
+
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+	private static final MethodType objectGetterType = MethodType.methodType( Object.class, Object.class );
+	private static final MethodType longGetterType = MethodType.methodType( long.class, Object.class );
+	private static final MethodType doubleGetterType = MethodType.methodType( double.class, Object.class );
+
+	/**
+	 * Create an accessor for the specified getter method
+	 * 
+	 * @param getter the property getter method
+	 * @return the property accessor
+	 */
+	public static Accessor create( Method getter ) {
+		Assert.notNull( getter, "Getter method cannot be null" );
+		Assert.isTrue( getter.getParameterCount() == 0, "Method \"{0}\" is not a getter method", getter.getName() );
+		if ( isGeneratable( getter ) ) {
+			try {
+				return generate( getter );
+			} catch ( Throwable e ) {
+				// Fall back to the method handle accessor
+			}
+		}
+		try {
+			MethodUtil.makeAccessible( getter, true );
+			return new MethodHandleAccessor( getter.getReturnType(), lookup.unreflect( getter ) );
+		} catch ( IllegalAccessException e ) {
+			throw new ReflectionException( e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Create an accessor that reads the field directly
+	 * 
+	 * @param field the instance field
+	 * @return the field accessor
+	 * @since 1.0.5
+	 */
+	public static Accessor create( Field field ) {
+		Assert.notNull( field, "Field cannot be null" );
+		Assert.isTrue( !Modifier.isStatic( field.getModifiers() ), "Field \"{0}\" cannot be static", field.getName() );
+		try {
+			field.setAccessible( true );
+			return new MethodHandleAccessor( field.getType(), lookup.unreflectGetter( field ) );
+		} catch ( IllegalAccessException | SecurityException e ) {
+			throw new ReflectionException( e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Get the accessors generated at build time for the bean type
+	 * 
+	 * @param beanType the bean type
+	 * @return the generated accessors, {@code null} if they were not generated.
+	 * @since 1.0.5
+	 */
+	public static GeneratedAccessors getGenerated( Class<?> beanType ) {
+		try {
+			Class<?> generatedType = Class.forName( beanType.getName() + GeneratedAccessors.SUFFIX, true, beanType.getClassLoader() );
+			if ( GeneratedAccessors.class.isAssignableFrom( generatedType ) ) {
+				return ( GeneratedAccessors ) generatedType.getDeclaredConstructor().newInstance();
+			}
+		} catch ( ClassNotFoundException e ) {
+			// Not generated
+		} catch ( ReflectiveOperationException | LinkageError e ) {
+			throw new ReflectionException( e.getMessage(), e );
+		}
+		return null;
+	}
+
+	private static Accessor generate( Method getter ) throws Throwable {
+		final Class<?> beanType = getter.getDeclaringClass();
+		final Class<?> returnType = getter.getReturnType();
+		final MethodHandle target = lookup.unreflect( getter );
+		if ( returnType == int.class ) {
+			ToIntFunction<Object> function = generate( ToIntFunction.class, "applyAsInt", int.class, beanType, target );
+			return new IntAccessor( function );
+		}
+		if ( returnType == long.class ) {
+			ToLongFunction<Object> function = generate( ToLongFunction.class, "applyAsLong", long.class, beanType, target );
+			return new LongAccessor( function );
+		}
+		if ( returnType == double.class ) {
+			ToDoubleFunction<Object> function = generate( ToDoubleFunction.class, "applyAsDouble", double.class, beanType, target );
+			return new DoubleAccessor( function );
+		}
+		Function<Object, Object> function = generate( Function.class, "apply", Object.class, beanType, target );
+		return new FunctionAccessor( returnType, function );
+	}
+
+	private static <T> T generate( Class<?> functionType, String methodName, Class<?> returnType, Class<?> beanType, MethodHandle target ) throws Throwable {
+		MethodType instantiatedType = MethodType.methodType( target.type().returnType(), beanType );
+		if ( returnType == Object.class ) {
+			instantiatedType = instantiatedType.wrap(); // Primitive value will be boxed
+		}
+		CallSite site = LambdaMetafactory.metafactory( 
+			lookup, 
+			methodName, 
+			MethodType.methodType( functionType ), 
+			MethodType.methodType( returnType, Object.class ), 
+			target, 
+			instantiatedType 
+		);
+		return ( T ) site.getTarget().invoke();
+	}
+
+	/**
+	 * The generated class is defined in the class loader of the current class,
+	 * so the bean type and the property type must be visible to it, and the
+	 * getter method must be public.
+	 * 
+	 * @param getter the property getter method
+	 * @return {@code true} if a functional object can be generated
+	 */
+	private static boolean isGeneratable( Method getter ) {
+		final Class<?> beanType = getter.getDeclaringClass();
+		if ( !Modifier.isPublic( beanType.getModifiers() ) || !Modifier.isPublic( getter.getModifiers() ) ) {
+			return false;
+		}
+		return isVisible( beanType ) && isVisible( getter.getReturnType() );
+	}
+
+	private static boolean isVisible( Class<?> type ) {
+		while ( type.isArray() ) {
+			type = type.getComponentType();
+		}
+		if ( type.isPrimitive() ) {
+			return true;
+		}
+		try {
+			return Class.forName( type.getName(), false, AccessorFactory.class.getClassLoader() ) == type;
+		} catch ( Throwable e ) {
+			return false;
+		}
+	}
+
+	private static final class FunctionAccessor extends BaseAccessor {
+
+		private final Function<Object, Object> function;
+
+		public FunctionAccessor( Class<?> type, Function<Object, Object> function ) {
+			super( type );
+			this.function = function;
+		}
+
+		@Override
+		public Object getValue( Object instance ) {
+			return function.apply( instance );
+		}
+
+	}
+
+	private static final class IntAccessor extends BaseAccessor {
+
+		private final ToIntFunction<Object> function;
+
+		public IntAccessor( ToIntFunction<Object> function ) {
+			super( int.class );
+			this.function = function;
+		}
+
+		@Override
+		public Object getValue( Object instance ) {
+			return function.applyAsInt( instance );
+		}
+
+		@Override
+		public int getInt( Object instance ) {
+			return function.applyAsInt( instance );
+		}
+
+		@Override
+		public long getLong( Object instance ) {
+			return function.applyAsInt( instance );
+		}
+
+		@Override
+		public double getDouble( Object instance ) {
+			return function.applyAsInt( instance );
+		}
+
+	}
+
+	private static final class LongAccessor extends BaseAccessor {
+
+		private final ToLongFunction<Object> function;
+
+		public LongAccessor( ToLongFunction<Object> function ) {
+			super( long.class );
+			this.function = function;
+		}
+
+		@Override
+		public Object getValue( Object instance ) {
+			return function.applyAsLong( instance );
+		}
+
+		@Override
+		public int getInt( Object instance ) {
+			return ( int ) function.applyAsLong( instance );
+		}
+
+		@Override
+		public long getLong( Object instance ) {
+			return function.applyAsLong( instance );
+		}
+
+		@Override
+		public double getDouble( Object instance ) {
+			return function.applyAsLong( instance );
+		}
+
+	}
+
+	private static final class DoubleAccessor extends BaseAccessor {
+
+		private final ToDoubleFunction<Object> function;
+
+		public DoubleAccessor( ToDoubleFunction<Object> function ) {
+			super( double.class );
+			this.function = function;
+		}
+
+		@Override
+		public Object getValue( Object instance ) {
+			return function.applyAsDouble( instance );
+		}
+
+		@Override
+		public int getInt( Object instance ) {
+			return ( int ) function.applyAsDouble( instance );
+		}
+
+		@Override
+		public long getLong( Object instance ) {
+			return ( long ) function.applyAsDouble( instance );
+		}
+
+		@Override
+		public double getDouble( Object instance ) {
+			return function.applyAsDouble( instance );
+		}
+
+	}
+
+	private static final class MethodHandleAccessor extends BaseAccessor {
+
+		private final MethodHandle handle;
+		private final MethodHandle longHandle;
+		private final MethodHandle doubleHandle;
+
+		/**
+		 * The {@code int} and {@code long} values are also read by a handle
+		 * returning {@code long}, and the {@code double} values by a handle
+		 * returning {@code double}, so they are not boxed.
+		 */
+		public MethodHandleAccessor( Class<?> type, MethodHandle target ) {
+			super( type );
+			this.handle = target.asType( objectGetterType );
+			this.longHandle = type == int.class || type == long.class ? target.asType( longGetterType ) : null;
+			this.doubleHandle = type == double.class ? target.asType( doubleGetterType ) : null;
+		}
+
+		@Override
+		public Object getValue( Object instance ) {
+			try {
+				return ( Object ) handle.invokeExact( instance );
+			} catch ( RuntimeException e ) {
+				throw e;
+			} catch ( Throwable e ) {
+				throw new ReflectionException( e.getMessage(), e );
+			}
+		}
+
+		@Override
+		public long getLong( Object instance ) {
+			if ( longHandle == null ) {
+				return super.getLong( instance );
+			}
+			try {
+				return ( long ) longHandle.invokeExact( instance );
+			} catch ( RuntimeException e ) {
+				throw e;
+			} catch ( Throwable e ) {
+				throw new ReflectionException( e.getMessage(), e );
+			}
+		}
+
+		@Override
+		public double getDouble( Object instance ) {
+			if ( doubleHandle == null ) {
+				return super.getDouble( instance );
+			}
+			try {
+				return ( double ) doubleHandle.invokeExact( instance );
+			} catch ( RuntimeException e ) {
+				throw e;
+			} catch ( Throwable e ) {
+				throw new ReflectionException( e.getMessage(), e );
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata.accessor;
+
+import com.viiyue.plugins.validator.exception.TypeMismatchException;
+
+/**
+ * Basic accessor, the primitive value is obtained by unboxing the property
+ * value, specialized accessors override it to avoid boxing.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public abstract class BaseAccessor implements Accessor {
+
+	private final Class<?> type;
+
+	public BaseAccessor( Class<?> type ) {
+		this.type = type;
+	}
+
+	@Override
+	public final Class<?> getType() {
+		return type;
+	}
+
+	@Override
+	public final boolean isPrimitive() {
+		return type.isPrimitive();
+	}
+
+	@Override
+	public int getInt( Object instance ) {
+		return toNumber( getValue( instance ) ).intValue();
+	}
+
+	@Override
+	public long getLong( Object instance ) {
+		return toNumber( getValue( instance ) ).longValue();
+	}
+
+	@Override
+	public double getDouble( Object instance ) {
+		return toNumber( getValue( instance ) ).doubleValue();
+	}
+
+	private Number toNumber( Object value ) {
+		if ( value instanceof Number ) {
+			return ( Number ) value;
+		}
+		throw new TypeMismatchException( Number.class, "Property value <{0}> is not a number", value );
+	}
+
+}
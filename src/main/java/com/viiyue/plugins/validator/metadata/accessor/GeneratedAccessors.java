@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata.accessor;
+
+/**
+ * <p>
+ * Property accessors generated at build time by
+ * {@code com.viiyue.plugins.validator.processor.AccessorProcessor}, the
+ * generated class is named after the bean class with the suffix
+ * {@value #SUFFIX}, such as {@code com.example.User$$Accessors}.
+ * 
+ * <p>
+ * When it is present, the bean compiler only looks up the listed
+ * properties instead of scanning all fields of the bean hierarchy, and
+ * reads the property values by direct getter calls.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see AccessorFactory#getGenerated(Class)
+ */
+public interface GeneratedAccessors {
+	
+	/**
+	 * The suffix of the generated class name
+	 */
+	String SUFFIX = "$$Accessors";
+
+	/**
+	 * @return the names of the properties that carry validation rules, in the
+	 * same order as the fields of the bean hierarchy.
+	 */
+	String [] getProperties();
+
+	/**
+	 * Create the accessor of the property
+	 * 
+	 * @param property the property name
+	 * @return the property accessor, {@code null} if the getter is not accessible at build time.
+	 */
+	Accessor getAccessor( String property );
+
+	/**
+	 * Get the getter whose annotations are compiled together with the field,
+	 * so the compiler does not need to look up the getter by introspection.
+	 * 
+	 * @param property the property name
+	 * @return the name of the annotated getter, {@code null} if only the field is annotated.
+	 */
+	String getAnnotatedGetter( String property );
+
+}
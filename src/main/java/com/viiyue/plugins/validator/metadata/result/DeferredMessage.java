@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.metadata.result;
+
+/**
+ * The message text that is rendered only when it is read for the first time.
+ * It keeps the message key, arguments and locale instead of the rendered
+ * text, so the results that only check whether they are passed or read the
+ * error codes never pay for the message rendering.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ *
+ * @see com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion#setEnableLazyMessage(boolean)
+ */
+public interface DeferredMessage {
+
+	/**
+	 * Render the message text, it will be called at most once by the result object.
+	 *
+	 * @return the rendered message text
+	 */
+	String render();
+
+}
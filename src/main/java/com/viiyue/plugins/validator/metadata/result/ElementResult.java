@@ -15,6 +15,8 @@
  */
 package com.viiyue.plugins.validator.metadata.result;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Iterator;
@@ -36,6 +38,7 @@ public final class ElementResult implements Serializable {
 	private Object fieldValue;
 	private Object result;
 	private boolean isJavaBean;
+	private transient DeferredMessage deferredLabel;
 
 	public String getField() {
 		return field;
@@ -48,15 +51,29 @@ public final class ElementResult implements Serializable {
 	}
 
 	public String getLabel() {
+		if ( deferredLabel != null ) {
+			this.label = deferredLabel.render();
+			this.deferredLabel = null;
+		}
 		return label;
 	}
 
 	public void setLabel( String label ) {
-		if ( this.label == null ) {
+		if ( this.label == null && this.deferredLabel == null ) {
 			this.label = label;
 		}
 	}
 	
+	/**
+	 * @param label the label text that is rendered when it is read
+	 * @since 1.0.5
+	 */
+	public void setLabel( DeferredMessage label ) {
+		if ( this.label == null && this.deferredLabel == null ) {
+			this.deferredLabel = label;
+		}
+	}
+	
 	public Object getFieldValue() {
 		return fieldValue;
 	}
@@ -115,5 +132,10 @@ public final class ElementResult implements Serializable {
 		}
 		return ClassUtils.isAssignable( resultType, target );
 	}
+	
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		getLabel(); // Render the deferred label before serializing
+		out.defaultWriteObject();
+	}
 
 }
@@ -15,6 +15,8 @@
  */
 package com.viiyue.plugins.validator.metadata.result;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
@@ -31,6 +33,7 @@ public class FragmentResult implements Serializable {
 	private String errorCode;
 	private String errorMessage;
 	private Object [] arguments;
+	private transient DeferredMessage deferredMessage;
 
 	public FragmentResult() {}
 
@@ -40,6 +43,16 @@ public class FragmentResult implements Serializable {
 		this.errorMessage = errorMessage;
 		this.arguments = arguments;
 	}
+	
+	/**
+	 * @since 1.0.5
+	 */
+	public FragmentResult( String fragment, String errorCode, DeferredMessage errorMessage, Object ... arguments ) {
+		this.fragment = fragment;
+		this.errorCode = errorCode;
+		this.deferredMessage = errorMessage;
+		this.arguments = arguments;
+	}
 
 	public String getFragment() {
 		return fragment;
@@ -58,11 +71,16 @@ public class FragmentResult implements Serializable {
 	}
 
 	public String getErrorMessage() {
+		if ( deferredMessage != null ) {
+			this.errorMessage = deferredMessage.render();
+			this.deferredMessage = null;
+		}
 		return errorMessage;
 	}
 
 	public void setErrorMessage( String errorMessage ) {
 		this.errorMessage = errorMessage;
+		this.deferredMessage = null;
 	}
 
 	public Object [] getArguments() {
@@ -72,5 +90,10 @@ public class FragmentResult implements Serializable {
 	public void setArguments( Object [] arguments ) {
 		this.arguments = arguments;
 	}
+	
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		getErrorMessage(); // Render the deferred message before serializing
+		out.defaultWriteObject();
+	}
 
 }
@@ -15,6 +15,8 @@
  */
 package com.viiyue.plugins.validator.metadata.result;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,6 +38,7 @@ public final class ValidatedResult implements Serializable {
 	private int errorCount;
 	private int ignoredCount;
 	private String message;
+	private transient DeferredMessage deferredMessage;
 	private final List<ElementResult> rejectedResults = new ArrayList<ElementResult>( 1 << 3 );
 	
 	public ValidatedResult() {
@@ -78,11 +81,25 @@ public final class ValidatedResult implements Serializable {
 	}
 
 	public String getMessage() {
+		if ( deferredMessage != null ) {
+			this.message = deferredMessage.render();
+			this.deferredMessage = null;
+		}
 		return message;
 	}
 	
 	public void setMessage( String message ) {
 		this.message = message;
+		this.deferredMessage = null;
+	}
+	
+	/**
+	 * @param message the message text that is rendered when it is read
+	 * @since 1.0.5
+	 */
+	public void setMessage( DeferredMessage message ) {
+		this.message = null;
+		this.deferredMessage = message;
 	}
 
 	public List<ElementResult> getRejectedResults() {
@@ -134,5 +151,19 @@ public final class ValidatedResult implements Serializable {
 	public static final ValidatedResult empty( String message ) {
 		return new ValidatedResult( true, message );
 	}
+	
+	/**
+	 * @since 1.0.5
+	 */
+	public static final ValidatedResult empty( DeferredMessage message ) {
+		ValidatedResult result = new ValidatedResult( true );
+		result.setMessage( message );
+		return result;
+	}
+	
+	private void writeObject( ObjectOutputStream out ) throws IOException {
+		getMessage(); // Render the deferred message before serializing
+		out.defaultWriteObject();
+	}
 
 }
@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import com.viiyue.plugins.validator.annotation.Mapping;
+import com.viiyue.plugins.validator.annotation.Valid;
+import com.viiyue.plugins.validator.constraints.Rules;
+import com.viiyue.plugins.validator.metadata.accessor.GeneratedAccessors;
+
+/**
+ * <p>
+ * Optional annotation processor that generates the property accessors of
+ * the beans at build time, so that the bean compiler no longer needs to
+ * scan all fields of the bean hierarchy, and the property values are read
+ * by direct getter calls instead of reflection.
+ * 
+ * <p>
+ * A class {@code Xxx$$Accessors} is generated next to every bean whose
+ * fields or getters carry {@code @Mapping} based constraints, {@code @Rules}
+ * or {@code @Valid}. The validation rules themselves are still compiled at
+ * runtime, so the registered handlers and message resources keep working
+ * as before.
+ * 
+ * <p>
+ * The processor is not registered automatically, enable it explicitly:
+ * 
+ * <pre>
+ * javac -processor com.viiyue.plugins.validator.processor.AccessorProcessor ...
+ * </pre>
+ * 
+ * or with the {@code annotationProcessors} option of the
+ * {@code maven-compiler-plugin}.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see GeneratedAccessors
+ */
+public class AccessorProcessor extends AbstractProcessor {
+
+	private static final String MAPPING_NAME = Mapping.class.getName();
+	private static final String RULES_NAME = Rules.class.getName();
+	private static final String VALID_NAME = Valid.class.getName();
+	private static final List<TypeKind> numberKinds = Arrays.asList( TypeKind.INT, TypeKind.LONG, TypeKind.DOUBLE );
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton( "*" );
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process( Set<? extends TypeElement> annotations, RoundEnvironment roundEnv ) {
+		for ( TypeElement type : ElementFilter.typesIn( roundEnv.getRootElements() ) ) {
+			processType( type );
+		}
+		return false; // Do not claim any annotations
+	}
+
+	private void processType( TypeElement type ) {
+		for ( TypeElement member : ElementFilter.typesIn( type.getEnclosedElements() ) ) {
+			processType( member );
+		}
+		if ( type.getKind() != ElementKind.CLASS || !isAccessible( type ) ) {
+			return;
+		}
+		Map<String, String> annotatedGetters = new LinkedHashMap<String, String>( 8 );
+		Map<String, ExecutableElement> properties = getProperties( type, annotatedGetters );
+		if ( properties.isEmpty() ) {
+			return;
+		}
+		String packageName = getPackage( type ).getQualifiedName().toString();
+		String generatedName = processingEnv.getElementUtils().getBinaryName( type ).toString() + GeneratedAccessors.SUFFIX;
+		try ( Writer writer = processingEnv.getFiler().createSourceFile( generatedName, type ).openWriter() ) {
+			writer.write( generate( type, packageName, generatedName.substring( packageName.isEmpty() ? 0 : packageName.length() + 1 ), properties, annotatedGetters ) );
+		} catch ( IOException e ) {
+			processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, "Unable to generate accessors : " + e.getMessage(), type );
+		}
+	}
+
+	/**
+	 * Collect the properties that carry validation rules, in the same order
+	 * as {@code FieldUtils.getAllFieldsList(Class)}, the value is the getter
+	 * that can be called by the generated class, or {@code null}. The names
+	 * of the annotated getters are collected as well.
+	 */
+	private Map<String, ExecutableElement> getProperties( TypeElement type, Map<String, String> annotatedGetters ) {
+		Map<String, ExecutableElement> properties = new LinkedHashMap<String, ExecutableElement>( 16 );
+		for ( TypeElement current = type; current != null; current = getSuperclass( current ) ) {
+			for ( VariableElement field : ElementFilter.fieldsIn( current.getEnclosedElements() ) ) {
+				String property = field.getSimpleName().toString();
+				ExecutableElement getter = findGetter( type, field );
+				if ( !properties.containsKey( property ) && ( hasRules( field ) || ( getter != null && hasRules( getter ) ) ) ) {
+					properties.put( property, getter != null && isCallable( type, getter ) ? getter : null );
+					if ( getter != null && !getter.getAnnotationMirrors().isEmpty() ) {
+						annotatedGetters.put( property, getter.getSimpleName().toString() );
+					}
+				}
+			}
+		}
+		return properties;
+	}
+
+	private ExecutableElement findGetter( TypeElement type, VariableElement field ) {
+		String property = field.getSimpleName().toString();
+		String suffix = property.substring( 0, 1 ).toUpperCase( Locale.ENGLISH ) + property.substring( 1 );
+		boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+		for ( TypeElement current = type; current != null; current = getSuperclass( current ) ) {
+			for ( ExecutableElement method : ElementFilter.methodsIn( current.getEnclosedElements() ) ) {
+				String methodName = method.getSimpleName().toString();
+				if ( method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID 
+					&& ( methodName.equals( "get" + suffix ) || ( isBoolean && methodName.equals( "is" + suffix ) ) ) ) {
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+	private boolean hasRules( Element element ) {
+		for ( AnnotationMirror annotation : element.getAnnotationMirrors() ) {
+			TypeElement annotationType = ( TypeElement ) annotation.getAnnotationType().asElement();
+			String annotationName = annotationType.getQualifiedName().toString();
+			if ( annotationName.equals( RULES_NAME ) || annotationName.equals( VALID_NAME ) ) {
+				return true;
+			}
+			for ( AnnotationMirror meta : annotationType.getAnnotationMirrors() ) {
+				if ( ( ( TypeElement ) meta.getAnnotationType().asElement() ).getQualifiedName().contentEquals( MAPPING_NAME ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The generated class is in the same package as the bean, so the getter
+	 * can be called unless it is private, static or package-private in
+	 * another package.
+	 */
+	private boolean isCallable( TypeElement type, ExecutableElement getter ) {
+		Set<Modifier> modifiers = getter.getModifiers();
+		if ( modifiers.contains( Modifier.PRIVATE ) || modifiers.contains( Modifier.STATIC ) ) {
+			return false;
+		}
+		return modifiers.contains( Modifier.PUBLIC ) || getPackage( getter ).equals( getPackage( type ) );
+	}
+
+	private boolean isAccessible( TypeElement type ) {
+		for ( Element current = type; current instanceof TypeElement; current = current.getEnclosingElement() ) {
+			TypeElement currentType = ( TypeElement ) current;
+			if ( currentType.getModifiers().contains( Modifier.PRIVATE ) || currentType.getNestingKind() == NestingKind.LOCAL 
+				|| currentType.getNestingKind() == NestingKind.ANONYMOUS ) {
+				return false;
+			}
+			if ( currentType.getNestingKind() == NestingKind.MEMBER && !currentType.getModifiers().contains( Modifier.STATIC ) 
+				&& current != type ) {
+				return false; // Inner class of an inner class is not supported
+			}
+		}
+		return true;
+	}
+
+	private TypeElement getSuperclass( TypeElement type ) {
+		TypeMirror superclass = type.getSuperclass();
+		if ( superclass.getKind() != TypeKind.DECLARED ) {
+			return null;
+		}
+		TypeElement superType = ( TypeElement ) ( ( DeclaredType ) superclass ).asElement();
+		return superType.getQualifiedName().contentEquals( Object.class.getName() ) ? null : superType;
+	}
+
+	private PackageElement getPackage( Element element ) {
+		return processingEnv.getElementUtils().getPackageOf( element );
+	}
+
+	private String generate( TypeElement type, String packageName, String simpleName, Map<String, ExecutableElement> properties, Map<String, String> annotatedGetters ) {
+		String beanName = processingEnv.getTypeUtils().erasure( type.asType() ).toString();
+		StringBuilder source = new StringBuilder( 1 << 11 );
+		if ( !packageName.isEmpty() ) {
+			source.append( "package " ).append( packageName ).append( ";\n\n" );
+		}
+		source.append( "// Generated by " ).append( AccessorProcessor.class.getName() ).append( ", do not edit.\n" );
+		source.append( "@SuppressWarnings( { \"rawtypes\", \"unchecked\" } )\n" );
+		source.append( "public final class " ).append( simpleName ).append( " implements " ).append( GeneratedAccessors.class.getName() ).append( " {\n\n" );
+		source.append( "\tprivate static final String [] properties = {" );
+		String separator = " ";
+		for ( String property : properties.keySet() ) {
+			source.append( separator ).append( '"' ).append( property ).append( '"' );
+			separator = ", ";
+		}
+		source.append( " };\n\n" );
+		source.append( "\t@Override\n\tpublic String [] getProperties() {\n\t\treturn properties.clone();\n\t}\n\n" );
+		source.append( "\t@Override\n\tpublic com.viiyue.plugins.validator.metadata.accessor.Accessor getAccessor( String property ) {\n" );
+		source.append( "\t\tswitch ( property ) {\n" );
+		for ( Map.Entry<String, ExecutableElement> entry : properties.entrySet() ) {
+			if ( entry.getValue() != null ) {
+				source.append( "\t\t\tcase \"" ).append( entry.getKey() ).append( "\" :\n" );
+				appendAccessor( source, beanName, entry.getValue() );
+			}
+		}
+		source.append( "\t\t\tdefault :\n\t\t\t\treturn null;\n\t\t}\n\t}\n\n" );
+		source.append( "\t@Override\n\tpublic String getAnnotatedGetter( String property ) {\n" );
+		source.append( "\t\tswitch ( property ) {\n" );
+		for ( Map.Entry<String, String> entry : annotatedGetters.entrySet() ) {
+			source.append( "\t\t\tcase \"" ).append( entry.getKey() ).append( "\" :\n" );
+			source.append( "\t\t\t\treturn \"" ).append( entry.getValue() ).append( "\";\n" );
+		}
+		source.append( "\t\t\tdefault :\n\t\t\t\treturn null;\n\t\t}\n\t}\n\n}\n" );
+		return source.toString();
+	}
+
+	private void appendAccessor( StringBuilder source, String beanName, ExecutableElement getter ) {
+		TypeMirror returnType = processingEnv.getTypeUtils().erasure( getter.getReturnType() );
+		String invocation = "( ( " + beanName + " ) instance )." + getter.getSimpleName() + "()";
+		source.append( "\t\t\t\treturn new com.viiyue.plugins.validator.metadata.accessor.BaseAccessor( " ).append( returnType ).append( ".class ) {\n" );
+		appendMethod( source, "Object", "getValue", invocation );
+		if ( numberKinds.contains( returnType.getKind() ) ) {
+			appendMethod( source, "int", "getInt", returnType.getKind() == TypeKind.INT ? invocation : "( int ) " + invocation );
+			appendMethod( source, "long", "getLong", returnType.getKind() == TypeKind.DOUBLE ? "( long ) " + invocation : invocation );
+			appendMethod( source, "double", "getDouble", invocation );
+		}
+		source.append( "\t\t\t\t};\n" );
+	}
+
+	private void appendMethod( StringBuilder source, String returnType, String methodName, String invocation ) {
+		source.append( "\t\t\t\t\t@Override\n" );
+		source.append( "\t\t\t\t\tpublic " ).append( returnType ).append( ' ' ).append( methodName ).append( "( Object instance ) {\n" );
+		source.append( "\t\t\t\t\t\treturn " ).append( invocation ).append( ";\n" );
+		source.append( "\t\t\t\t\t}\n" );
+	}
+
+}
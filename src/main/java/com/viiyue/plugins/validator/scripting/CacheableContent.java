@@ -15,11 +15,14 @@
  */
 package com.viiyue.plugins.validator.scripting;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.viiyue.plugins.validator.exception.ExpressionException;
 
@@ -27,6 +30,16 @@ import com.viiyue.plugins.validator.exception.ExpressionException;
  * Supports cacheable content management objects. 
  * <p>This class is thread-safe and supports use in multi-threaded mode.
  * 
+ * <p>The content is loaded by a {@link FutureTask} only once, and the
+ * completed task is replaced by the loaded value, so the subsequent reads
+ * return the value directly without waiting for the task.</p>
+ * 
+ * <p>The cache can be limited to a maximum size, the entries that have not
+ * been used recently are evicted first (second chance algorithm). The
+ * hit/miss/eviction/load time statistics are collected only after
+ * {@link #setRecordStatistics(boolean)} is enabled, so a cache hit costs
+ * no more than the read of the map by default.</p>
+ * 
  * <p>#ThreadSafe#</p>
  * 
  * @author tangxbai
@@ -37,20 +50,44 @@ import com.viiyue.plugins.validator.exception.ExpressionException;
  */
 public class CacheableContent<K, V> {
 
-	private final ConcurrentMap<K, Future<V>> caches;
+	private static volatile boolean recordStatistics;
+	
+	private final ConcurrentMap<K, Entry<V>> caches;
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private volatile int maximumSize;
+	
+	private final Counters counters;
 	
 	public CacheableContent() {
 		this( 16 );
 	}
 	
 	public CacheableContent( final int initialCapacity ) {
-		this.caches = new ConcurrentHashMap<K, Future<V>>( initialCapacity );
+		this( initialCapacity, 0 );
+	}
+	
+	/**
+	 * @param initialCapacity the initial capacity
+	 * @param maximumSize the maximum number of entries, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public CacheableContent( final int initialCapacity, final int maximumSize ) {
+		this( initialCapacity, maximumSize, new Counters() );
+	}
+	
+	CacheableContent( final int initialCapacity, final int maximumSize, final Counters counters ) {
+		this.caches = new ConcurrentHashMap<K, Entry<V>>( initialCapacity );
+		this.maximumSize = maximumSize;
+		this.counters = counters;
 	}
 	
 	public V getOrPut( final K key, final Provider<K, V> provider ) {
-		Future<V> future = this.caches.get( key );
-		if ( future != null ) {
-			return getTaskResult( key, future );
+		Entry<V> entry = this.caches.get( key );
+		if ( entry != null ) {
+			if ( recordStatistics ) {
+				counters.hitCount.increment();
+			}
+			return getValue( key, entry );
 		}
 		FutureTask<V> task = new FutureTask<V>( new Callable<V>() {
 			@Override
@@ -58,23 +95,269 @@ public class CacheableContent<K, V> {
 				return provider.create( key );
 			}
 		});
-		future = this.caches.putIfAbsent( key, task );
-		if ( future == null ) {
-			future = task;
+		Entry<V> created = new Entry<V>( task );
+		entry = this.caches.putIfAbsent( key, created );
+		if ( entry != null ) {
+			if ( recordStatistics ) {
+				counters.hitCount.increment();
+			}
+			return getValue( key, entry );
+		}
+		if ( recordStatistics ) {
+			counters.missCount.increment();
+			long startTime = System.nanoTime();
+			task.run();
+			counters.totalLoadTime.add( System.nanoTime() - startTime );
+		} else {
 			task.run();
 		}
-		return getTaskResult( key, future );
+		V value = getTaskResult( key, created );
+		this.caches.replace( key, created, new Entry<V>( value ) ); // Skip the task next time
+		evictIfNecessary();
+		return value;
+	}
+	
+	/**
+	 * Remove all cached contents
+	 * 
+	 * @since 1.0.5
+	 */
+	public void clear() {
+		this.caches.clear();
+	}
+	
+	/**
+	 * @return the number of cached entries
+	 * @since 1.0.5
+	 */
+	public int size() {
+		return caches.size();
+	}
+	
+	/**
+	 * @return the maximum number of entries, 0 means unlimited.
+	 * @since 1.0.5
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * Change the maximum number of entries, the exceeded entries are evicted
+	 * immediately.
+	 * 
+	 * @param maximumSize the maximum number of entries, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public void setMaximumSize( int maximumSize ) {
+		this.maximumSize = maximumSize < 0 ? 0 : maximumSize;
+		evictIfNecessary();
+	}
+	
+	/**
+	 * @return the snapshot of the cache statistics, all counters stay 0 while
+	 * the statistics are not recorded.
+	 * @since 1.0.5
+	 */
+	public Statistics getStatistics() {
+		return counters.snapshot( caches.size() );
+	}
+	
+	/**
+	 * Whether to record the statistics of all caches, the default is disabled.
+	 * The setting is global to the JVM, it is shared by all factories and the
+	 * last call wins.
+	 * 
+	 * @param enabled true to record the statistics
+	 * @since 1.0.5
+	 */
+	public static void setRecordStatistics( boolean enabled ) {
+		recordStatistics = enabled;
+	}
+	
+	/**
+	 * @return true if the statistics of the caches are recorded
+	 * @since 1.0.5
+	 */
+	public static boolean isRecordStatistics() {
+		return recordStatistics;
+	}
+	
+	private V getValue( final K key, final Entry<V> entry ) {
+		if ( !entry.referenced ) {
+			entry.referenced = true;
+		}
+		return entry.task == null ? entry.value : getTaskResult( key, entry );
 	}
 	
-	private V getTaskResult( final K key, final Future<V> task ) {
+	private V getTaskResult( final K key, final Entry<V> entry ) {
 		try {
-			return task.get();
+			return entry.task.get();
 		} catch ( Exception e ) {
-			this.caches.remove( key );
+			if ( this.caches.remove( key, entry ) && recordStatistics ) {
+				counters.loadFailureCount.increment();
+			}
 			throw new ExpressionException( e.getMessage(), e );
 		}
 	}
 	
+	/**
+	 * Evict the entries that have not been used since the last sweep, the
+	 * used entries get a second chance. Only one thread sweeps at a time.
+	 */
+	private void evictIfNecessary() {
+		final int maximum = maximumSize;
+		if ( maximum <= 0 || caches.size() <= maximum || !evictionLock.tryLock() ) {
+			return;
+		}
+		try {
+			int excess = caches.size() - maximum;
+			for ( int pass = 0; pass < 2 && excess > 0; pass ++ ) {
+				Iterator<Map.Entry<K, Entry<V>>> iterator = caches.entrySet().iterator();
+				while ( excess > 0 && iterator.hasNext() ) {
+					Map.Entry<K, Entry<V>> candidate = iterator.next();
+					Entry<V> entry = candidate.getValue();
+					if ( entry.referenced ) {
+						entry.referenced = false;
+					} else if ( caches.remove( candidate.getKey(), entry ) ) {
+						if ( recordStatistics ) {
+							counters.evictionCount.increment();
+						}
+						excess --;
+					}
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+	
+	/**
+	 * The cached entry is either a loading task or a loaded value, the
+	 * reference flag is only a hint for eviction, so it is not volatile.
+	 */
+	private static final class Entry<V> {
+		
+		private final V value;
+		private final FutureTask<V> task;
+		private boolean referenced = true;
+		
+		private Entry( FutureTask<V> task ) {
+			this.value = null;
+			this.task = task;
+		}
+		
+		private Entry( V value ) {
+			this.value = value;
+			this.task = null;
+		}
+		
+	}
+	
+	/**
+	 * The statistics counters, which can be shared by several caches
+	 */
+	static final class Counters {
+		
+		private final LongAdder hitCount = new LongAdder();
+		private final LongAdder missCount = new LongAdder();
+		private final LongAdder loadFailureCount = new LongAdder();
+		private final LongAdder evictionCount = new LongAdder();
+		private final LongAdder totalLoadTime = new LongAdder();
+		
+		Statistics snapshot( int size ) {
+			return new Statistics( 
+				hitCount.sum(), missCount.sum(), loadFailureCount.sum(), 
+				evictionCount.sum(), totalLoadTime.sum(), size 
+			);
+		}
+		
+	}
+	
+	/**
+	 * The immutable snapshot of the cache statistics
+	 * 
+	 * @since 1.0.5
+	 */
+	public static final class Statistics {
+		
+		private final long hitCount;
+		private final long missCount;
+		private final long loadFailureCount;
+		private final long evictionCount;
+		private final long totalLoadTime;
+		private final int size;
+		
+		Statistics( long hitCount, long missCount, long loadFailureCount, long evictionCount, long totalLoadTime, int size ) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.loadFailureCount = loadFailureCount;
+			this.evictionCount = evictionCount;
+			this.totalLoadTime = totalLoadTime;
+			this.size = size;
+		}
+		
+		public long getHitCount() {
+			return hitCount;
+		}
+		
+		public long getMissCount() {
+			return missCount;
+		}
+		
+		public long getRequestCount() {
+			return hitCount + missCount;
+		}
+		
+		public double getHitRate() {
+			long requestCount = getRequestCount();
+			return requestCount == 0 ? 1.0 : ( double ) hitCount / requestCount;
+		}
+		
+		/**
+		 * @return the number of loads, the same as the number of misses.
+		 */
+		public long getLoadCount() {
+			return missCount;
+		}
+		
+		public long getLoadFailureCount() {
+			return loadFailureCount;
+		}
+		
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+		
+		/**
+		 * @return the total time spent loading entries, in nanoseconds.
+		 */
+		public long getTotalLoadTime() {
+			return totalLoadTime;
+		}
+		
+		/**
+		 * @return the average time spent loading an entry, in nanoseconds.
+		 */
+		public double getAverageLoadTime() {
+			return missCount == 0 ? 0.0 : ( double ) totalLoadTime / missCount;
+		}
+		
+		/**
+		 * @return the number of cached entries, -1 if the entries are held by the classes.
+		 */
+		public int getSize() {
+			return size;
+		}
+		
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[ hits=" + hitCount + ", misses=" + missCount + ", failures=" + loadFailureCount
+				+ ", evictions=" + evictionCount + ", averageLoadTime=" + ( long ) getAverageLoadTime() + "ns, size=" + size + " ]";
+		}
+		
+	}
+	
 	public static interface Provider<K, V> {
 		V create( K key );
 	}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
+
+/**
+ * <p>
+ * Cacheable content whose keys are classes or class members, such as
+ * {@link Class}, {@link java.lang.reflect.Field}, {@link java.lang.reflect.Method}
+ * and {@link Parameter}.
+ * 
+ * <p>
+ * The contents are attached to the declaring class of the key by
+ * {@link ClassValue}, so they are released together with the class loader
+ * of the key class, instead of keeping the whole class loader alive after
+ * the module is redeployed. Other keys are cached normally.
+ * 
+ * <p>#ThreadSafe#</p>
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see ClassValue
+ */
+public class ClassCacheableContent<K, V> {
+	
+	private final int initialCapacity;
+	private final CacheableContent.Counters counters = new CacheableContent.Counters();
+	private volatile CacheableContent<K, V> others;
+	private volatile ClassValue<CacheableContent<K, V>> contents;
+	
+	public ClassCacheableContent() {
+		this( 4 );
+	}
+	
+	/**
+	 * @param initialCapacity the initial capacity of the contents of each class
+	 */
+	public ClassCacheableContent( int initialCapacity ) {
+		this.initialCapacity = initialCapacity;
+		this.clear();
+	}
+	
+	public V getOrPut( final K key, final CacheableContent.Provider<K, V> provider ) {
+		Class<?> owner = getDeclaringClass( key );
+		CacheableContent<K, V> content = owner == null ? others : contents.get( owner );
+		return content.getOrPut( key, provider );
+	}
+	
+	/**
+	 * Remove all cached contents, the contents attached to the classes are
+	 * discarded with the previous class value.
+	 */
+	public void clear() {
+		this.others = new CacheableContent<K, V>( initialCapacity, 0, counters );
+		this.contents = new ClassValue<CacheableContent<K, V>>() {
+			@Override
+			protected CacheableContent<K, V> computeValue( Class<?> type ) {
+				return new CacheableContent<K, V>( initialCapacity, 0, counters );
+			}
+		};
+	}
+	
+	/**
+	 * @return the snapshot of the cache statistics, the size is always -1.
+	 */
+	public CacheableContent.Statistics getStatistics() {
+		return counters.snapshot( -1 );
+	}
+	
+	private Class<?> getDeclaringClass( Object key ) {
+		if ( key instanceof Class ) {
+			return ( Class<?> ) key;
+		}
+		if ( key instanceof Member ) {
+			return ( ( Member ) key ).getDeclaringClass();
+		}
+		if ( key instanceof Parameter ) {
+			return ( ( Parameter ) key ).getDeclaringExecutable().getDeclaringClass();
+		}
+		return null;
+	}
+	
+}
@@ -23,6 +23,9 @@ import org.apache.commons.jexl3.JexlContext;
 
 import com.viiyue.plugins.validator.ValidatorFactory;
 import com.viiyue.plugins.validator.metadata.Element;
+import com.viiyue.plugins.validator.metadata.MessageKeys;
+import com.viiyue.plugins.validator.scripting.configuration.ContextConfigurion;
+import com.viiyue.plugins.validator.scripting.configuration.LengthMetric;
 
 /**
  * Context object for validating fragment rules
@@ -36,35 +39,52 @@ public final class Context implements JexlContext {
 	private final Element element;
 	private final Object instance;
 	private final ValidatorFactory factory;
-	private final Map<String, Object> variables;
+	private Map<String, Object> variables; // Lazy
 	
 	private String[] messageKeys;
+	private MessageKeys messageKeyChain;
 
 	public Context( ValidatorFactory factory, Element element, Object instance, Locale locale ) {
 		this.factory = factory;
 		this.element = element;
 		this.instance = instance;
 		this.locale = locale;
-		this.variables = new HashMap<String, Object>( 8 );
 	}
 
 	@Override
 	public boolean has( String name ) {
-		return variables.containsKey( name );
+		return variables != null && variables.containsKey( name );
 	}
 
 	@Override
 	public Object get( String name ) {
-		return variables.get( name );
+		return variables == null ? null : variables.get( name );
 	}
 
 	@Override
 	public void set( String name, Object value ) {
+		if ( variables == null ) {
+			this.variables = new HashMap<String, Object>( 8 );
+		}
 		variables.put( name, value );
 	}
 
 	public void clear() {
-		variables.clear();
+		if ( variables != null ) {
+			variables.clear();
+		}
+	}
+	
+	/**
+	 * Reset the variables and message keys, so that the context can be reused
+	 * by the next fragment of the same value.
+	 * 
+	 * @since 1.0.5
+	 */
+	public void reset() {
+		clear();
+		this.messageKeys = null;
+		this.messageKeyChain = null;
 	}
 
 	public Element getElement() {
@@ -83,12 +103,40 @@ public final class Context implements JexlContext {
 		return factory;
 	}
 
+	/**
+	 * @return the way to measure the length of the text
+	 * @since 1.0.5
+	 */
+	public LengthMetric getLengthMetric() {
+		ContextConfigurion configuration = factory == null ? null : factory.getConfiguration();
+		return configuration == null ? LengthMetric.GBK_BYTES : configuration.getLengthMetric();
+	}
+
 	public String[] getMessageKeys() {
 		return messageKeys;
 	}
 
 	public void setMessageKeys( String ... messageKeys ) {
 		this.messageKeys = messageKeys;
+		this.messageKeyChain = null;
+	}
+	
+	/**
+	 * @return the cached message key chain, or {@code null} if the message
+	 * keys are specified by {@link #setMessageKeys(String...)}.
+	 * @since 1.0.5
+	 */
+	public MessageKeys getMessageKeyChain() {
+		return messageKeyChain;
+	}
+	
+	/**
+	 * @param messageKeyChain the cached message key chain
+	 * @since 1.0.5
+	 */
+	public void setMessageKeyChain( MessageKeys messageKeyChain ) {
+		this.messageKeyChain = messageKeyChain;
+		this.messageKeys = messageKeyChain == null ? null : messageKeyChain.getKeys();
 	}
 	
 }
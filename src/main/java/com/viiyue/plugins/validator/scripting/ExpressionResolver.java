@@ -15,14 +15,18 @@
  */
 package com.viiyue.plugins.validator.scripting;
 
+import static com.viiyue.plugins.validator.Validator.LOG;
 import static com.viiyue.plugins.validator.common.Constants.EXPRESSION_TOKEN_BEGIN;
 import static com.viiyue.plugins.validator.common.Constants.EXPRESSION_TOKEN_END;
 import static com.viiyue.plugins.validator.common.Constants.EXPRESSION_TOKEN_VALUE_SEPARATOR;
 
 import java.nio.charset.Charset;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.jexl3.JexlBuilder;
@@ -34,6 +38,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.viiyue.plugins.validator.common.Constants;
+import com.viiyue.plugins.validator.exception.ExpressionException;
 import com.viiyue.plugins.validator.utils.MapUtil;
 
 /**
@@ -47,11 +52,12 @@ public final class ExpressionResolver {
 	
 	private ExpressionResolver() {}
 
-	private static final JexlBuilder jexlBuilder = new JexlBuilder().cache( 512 ).strict( true ).silent( true ).charset( Charset.forName( "UTF-8" ) );
-	private static final JexlEngine jexlEngine = jexlBuilder.namespaces( MapUtil.newObjectMap( "builder", new Builder() ) ).create();
+	private static volatile boolean expressionEnabled = true;
 	private static final PropertyPlaceholderHelper placeholder = new PropertyPlaceholderHelper( EXPRESSION_TOKEN_BEGIN, EXPRESSION_TOKEN_END, EXPRESSION_TOKEN_VALUE_SEPARATOR, true );
 	private static final CacheableContent<String, JexlExpression> expressions = new CacheableContent<String, JexlExpression>( 1 << 10 ); // 1024
 	private static final CacheableContent.Provider<String, JexlExpression> expressionProvider = new ExpressionProvider();
+	private static final CacheableContent<String, MessageTemplate> templates = new CacheableContent<String, MessageTemplate>( 1 << 9 ); // 512
+	private static final CacheableContent.Provider<String, MessageTemplate> templateProvider = new TemplateProvider();
 	
 	/**
 	 * In order to solve the problem that the direct access speed is very slow
@@ -64,11 +70,73 @@ public final class ExpressionResolver {
 		MapUtils.isEmpty( Collections.EMPTY_MAP );
 		ArrayUtils.isEmpty( ArrayUtils.EMPTY_OBJECT_ARRAY );
 		CollectionUtils.isEmpty( Collections.EMPTY_LIST );
+		if ( !expressionEnabled ) {
+			return; // Do not load the JEXL engine
+		}
 		JexlContext context = new MapContext( MapUtil.newObjectMap( "now", System.currentTimeMillis() ) );
 		resolveArguments( "[ 1, 2L, 1.0f, 1.00, true, 'foo', now ]", context );
 	}
 	
+	/**
+	 * Limit the number of cached expressions and message templates, the
+	 * caches are shared by all factories and the last call wins.
+	 * 
+	 * @param maximumSize the maximum number of entries of each cache, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public static final void setMaximumCacheSize( int maximumSize ) {
+		expressions.setMaximumSize( maximumSize );
+		templates.setMaximumSize( maximumSize );
+	}
+	
+	/**
+	 * <p>
+	 * Whether to evaluate the expressions by JEXL, it is enabled by default.
+	 * The JEXL engine is created only when the first expression is evaluated,
+	 * the literal rule arguments and the message placeholders of arguments
+	 * and variables never need it.
+	 * 
+	 * <p>
+	 * When it is disabled, the JEXL engine is never created: the {@code {expression}}
+	 * placeholders only support variable names and property paths such as
+	 * {@code {bean.name}}, other expressions such as conditionals are rejected
+	 * with an {@link ExpressionException}, and so are the rule arguments that
+	 * are not literals.
+	 * 
+	 * <p>
+	 * The setting is global to the JVM, it is shared by all factories and the
+	 * last call wins.
+	 * 
+	 * @param enabled true to evaluate the expressions by JEXL
+	 * @since 1.0.5
+	 */
+	public static final void setExpressionEnabled( boolean enabled ) {
+		expressionEnabled = enabled;
+	}
+	
+	/**
+	 * @return true if the expressions are evaluated by JEXL
+	 * @since 1.0.5
+	 */
+	public static final boolean isExpressionEnabled() {
+		return expressionEnabled;
+	}
+	
+	/**
+	 * @return the statistics of the expression and message template caches
+	 * @since 1.0.5
+	 */
+	public static final Map<String, CacheableContent.Statistics> getCacheStatistics() {
+		Map<String, CacheableContent.Statistics> statistics = new LinkedHashMap<String, CacheableContent.Statistics>( 4 );
+		statistics.put( "expression.expressions", expressions.getStatistics() );
+		statistics.put( "expression.templates", templates.getStatistics() );
+		return statistics;
+	}
+	
 	public static final Object resolve( String expression, JexlContext context ) {
+		if ( !expressionEnabled ) {
+			return resolveProperty( expression, context );
+		}
 		return expressions.getOrPut( expression, expressionProvider ).evaluate( context );
 	}
 	
@@ -77,6 +145,9 @@ public final class ExpressionResolver {
 	}
 	
 	public static final Object[] resolveArguments( String expression, JexlContext context ) {
+		if ( !expressionEnabled ) {
+			throw new ExpressionException( "Arguments expression is not supported when the expression is disabled : \"{0}\"", expression );
+		}
 		expression = "builder:toArray(" + expression.trim() + ")";
 		JexlExpression exp = expressions.getOrPut( expression, expressionProvider );
 		return ( Object[] ) exp.evaluate( context );
@@ -84,11 +155,62 @@ public final class ExpressionResolver {
 	
 	public static final String resolveResourceText( String template, JexlContext context, Object ... arguments ) {
 		if ( placeholder.canParsing( template ) ) {
-			return placeholder.replacePlaceholders( template, new PropertyPlaceholder( context, arguments ) );
+			return templates.getOrPut( template, templateProvider ).render( context, arguments );
 		}
 		return template;
 	}
 	
+	/**
+	 * Replace the placeholders without compiling the template, it is used for
+	 * the texts that are not worth caching, such as the resolved values.
+	 * 
+	 * @since 1.0.5
+	 */
+	static final String replacePlaceholders( String template, JexlContext context, Object ... arguments ) {
+		return placeholder.replacePlaceholders( template, new PropertyPlaceholder( context, arguments ) );
+	}
+	
+	/**
+	 * The built-in evaluator used when JEXL is disabled, it only resolves the
+	 * variable name or the property path. Other expressions cannot be
+	 * evaluated without JEXL, so they are rejected instead of being rendered
+	 * as empty text.
+	 */
+	private static Object resolveProperty( String expression, JexlContext context ) {
+		String path = expression.trim();
+		if ( !isPropertyPath( path ) ) {
+			throw new ExpressionException( "Expression \"{0}\" cannot be evaluated when the expression is disabled", expression );
+		}
+		int dot = path.indexOf( '.' );
+		String name = dot == -1 ? path : path.substring( 0, dot );
+		if ( context == null || name.isEmpty() || !context.has( name ) ) {
+			return null;
+		}
+		Object value = context.get( name );
+		if ( dot == -1 || value == null ) {
+			return value;
+		}
+		try {
+			return PropertyUtils.getProperty( value, path.substring( dot + 1 ) );
+		} catch ( Exception e ) {
+			LOG.warn( "Property path \"{}\" cannot be resolved : {}", path, e.getMessage() );
+			return null;
+		}
+	}
+	
+	private static boolean isPropertyPath( String path ) {
+		boolean segmentStart = true;
+		for ( int i = 0, size = path.length(); i < size; i ++ ) {
+			char c = path.charAt( i );
+			if ( segmentStart ? Character.isJavaIdentifierStart( c ) : ( Character.isJavaIdentifierPart( c ) || c == '.' ) ) {
+				segmentStart = c == '.';
+			} else {
+				return false;
+			}
+		}
+		return !segmentStart;
+	}
+	
 	public static class Builder {
 		public Object[] toArray( Object ... args ) {
 			return args;
@@ -98,7 +220,23 @@ public final class ExpressionResolver {
 	private static class ExpressionProvider implements CacheableContent.Provider<String, JexlExpression> {
 		@Override
 		public JexlExpression create( String expression ) {
-			return ExpressionResolver.jexlEngine.createExpression( expression );
+			return Engine.INSTANCE.createExpression( expression );
+		}
+	}
+	
+	/**
+	 * The JEXL engine is created when it is used for the first time
+	 */
+	private static final class Engine {
+		private static final JexlEngine INSTANCE = new JexlBuilder()
+			.cache( 512 ).strict( true ).silent( true ).charset( Charset.forName( "UTF-8" ) )
+			.namespaces( MapUtil.newObjectMap( "builder", new Builder() ) ).create();
+	}
+	
+	private static class TemplateProvider implements CacheableContent.Provider<String, MessageTemplate> {
+		@Override
+		public MessageTemplate create( String template ) {
+			return MessageTemplate.compile( template );
 		}
 	}
 	
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting;
+
+import static com.viiyue.plugins.validator.common.Constants.EXPRESSION_TOKEN_BEGIN;
+import static com.viiyue.plugins.validator.common.Constants.EXPRESSION_TOKEN_END;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Pre-compiled message template, the message text is split into segments
+ * only once: literal text, {@code {N}} argument index, {@code {name}} context
+ * variable and other {@code {expression}}. Rendering the message is a single
+ * pass over the segments without parsing, and only the real expressions are
+ * evaluated by JEXL.
+ *
+ * <p>
+ * The rendered result is the same as {@link PropertyPlaceholderHelper}, the
+ * template with nested placeholders such as {@code {a{0}}} is still rendered
+ * by {@link PropertyPlaceholderHelper}.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ */
+public final class MessageTemplate {
+
+	private static final int LITERAL = 0;
+	private static final int ARGUMENT = 1;
+	private static final int VARIABLE = 2;
+	private static final int EXPRESSION = 3;
+
+	// Words that JEXL does not treat as variable names
+	private static final Set<String> reservedWords = new HashSet<String>( Arrays.asList(
+		"true", "false", "null", "NaN", "or", "and", "not", "eq", "ne", "lt", "gt", "le", "ge",
+		"div", "mod", "empty", "size", "new", "var", "if", "else", "for", "while", "do", "return",
+		"function", "continue", "break"
+	) );
+
+	private final String template;
+	private final boolean nested;
+	private final int [] types;
+	private final int [] indexes;
+	private final String [] texts;
+
+	private MessageTemplate( String template, boolean nested, List<Integer> types, List<String> texts ) {
+		int size = types.size();
+		this.template = template;
+		this.nested = nested;
+		this.types = new int[ size ];
+		this.indexes = new int[ size ];
+		this.texts = texts.toArray( new String[ size ] );
+		for ( int i = 0; i < size; i ++ ) {
+			this.types[ i ] = types.get( i );
+			if ( this.types[ i ] == ARGUMENT ) {
+				this.indexes[ i ] = Integer.parseInt( this.texts[ i ] );
+			}
+		}
+	}
+
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Render the message text
+	 *
+	 * @param context the expression context, it may be null.
+	 * @param arguments the fragment arguments
+	 * @return the rendered message text
+	 */
+	public String render( JexlContext context, Object ... arguments ) {
+		if ( nested ) {
+			return ExpressionResolver.replacePlaceholders( template, context, arguments );
+		}
+		StringBuilder appender = new StringBuilder( template.length() + 16 );
+		for ( int i = 0, size = types.length; i < size; i ++ ) {
+			String value;
+			switch ( types[ i ] ) {
+				case LITERAL:
+					appender.append( texts[ i ] );
+					continue;
+				case ARGUMENT:
+					value = Objects.toString( arguments[ indexes[ i ] ], "" );
+					break;
+				case VARIABLE:
+					value = context != null && context.has( texts[ i ] ) ? Objects.toString( context.get( texts[ i ] ), "" ) : "";
+					break;
+				default:
+					value = Objects.toString( ExpressionResolver.resolve( texts[ i ], context == null ? new MapContext() : context ), "" );
+					break;
+			}
+
+			// The resolved value may contain placeholders as well
+			if ( value.indexOf( EXPRESSION_TOKEN_BEGIN ) != -1 ) {
+				value = ExpressionResolver.replacePlaceholders( value, context, arguments );
+			}
+			appender.append( value );
+		}
+		return appender.toString();
+	}
+
+	@Override
+	public String toString() {
+		return template;
+	}
+
+	/**
+	 * Compile the message template into segments
+	 *
+	 * @param template the message template
+	 * @return the compiled message template
+	 */
+	public static final MessageTemplate compile( String template ) {
+		List<Integer> types = new ArrayList<Integer>( 8 );
+		List<String> texts = new ArrayList<String>( 8 );
+		int beginLength = EXPRESSION_TOKEN_BEGIN.length();
+		int endLength = EXPRESSION_TOKEN_END.length();
+		int position = 0, length = template.length();
+		while ( position < length ) {
+			int startIndex = template.indexOf( EXPRESSION_TOKEN_BEGIN, position );
+			int endIndex = startIndex == -1 ? -1 : template.indexOf( EXPRESSION_TOKEN_END, startIndex + beginLength );
+			if ( endIndex == -1 ) {
+				break; // No more complete placeholders
+			}
+			String placeholder = template.substring( startIndex + beginLength, endIndex );
+			if ( placeholder.contains( EXPRESSION_TOKEN_BEGIN ) ) {
+				return new MessageTemplate( template, true, types, texts );
+			}
+			if ( startIndex > position ) {
+				types.add( LITERAL );
+				texts.add( template.substring( position, startIndex ) );
+			}
+			types.add( typeOf( placeholder ) );
+			texts.add( placeholder );
+			position = endIndex + endLength;
+		}
+		if ( position < length ) {
+			types.add( LITERAL );
+			texts.add( template.substring( position ) );
+		}
+		return new MessageTemplate( template, false, types, texts );
+	}
+
+	private static int typeOf( String placeholder ) {
+		if ( StringUtils.isNumeric( placeholder ) ) {
+			return ARGUMENT;
+		}
+		if ( isVariableName( placeholder ) ) {
+			return VARIABLE;
+		}
+		return EXPRESSION;
+	}
+
+	private static boolean isVariableName( String placeholder ) {
+		if ( placeholder.isEmpty() || reservedWords.contains( placeholder ) ) {
+			return false;
+		}
+		for ( int i = 0, size = placeholder.length(); i < size; i ++ ) {
+			char c = placeholder.charAt( i );
+			boolean isLetter = ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' ) || c == '_' || c == '$';
+			if ( !isLetter && ( i == 0 || c < '0' || c > '9' ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -26,6 +26,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.viiyue.plugins.validator.annotation.Mapping;
 import com.viiyue.plugins.validator.constraints.Rules;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.FragmentInterner;
 import com.viiyue.plugins.validator.provider.AnnotationProvider;
 import com.viiyue.plugins.validator.scripting.CacheableContent;
 import com.viiyue.plugins.validator.utils.SingletonUtil;
@@ -38,10 +39,8 @@ import com.viiyue.plugins.validator.utils.SingletonUtil;
  */
 final class AnnotatedElementCompiler extends BaseCompiler implements CacheableContent.Provider<AnnotatedElement, List<Fragment>> {
 
-	private final ElementCompiler elementCompiler;
-
 	public AnnotatedElementCompiler( ElementCompiler elementCompiler ) {
-		this.elementCompiler = elementCompiler;
+		super( elementCompiler );
 	}
 
 	@Override
@@ -84,7 +83,7 @@ final class AnnotatedElementCompiler extends BaseCompiler implements CacheableCo
 		// Collect parameters via annotations to form validation fragments
 		Class<? extends AnnotationProvider<Annotation>> fragmentProviderType = ( Class<? extends AnnotationProvider<Annotation>> ) mapping.provider();
 		AnnotationProvider<Annotation> fragmentProvider = SingletonUtil.getBean( fragmentProviderType );
-		return fragmentProvider.create( annotation, defaultName );
+		return FragmentInterner.intern( fragmentProvider.create( annotation, defaultName ) );
 	}
 
 }
@@ -22,7 +22,10 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
+import org.apache.commons.lang3.reflect.MethodUtils;
+
 import com.viiyue.plugins.validator.scripting.CacheableContent;
+import com.viiyue.plugins.validator.scripting.ClassCacheableContent;
 
 /**
  * Abstract compiler, providing a common way to get annotations.
@@ -31,8 +34,10 @@ import com.viiyue.plugins.validator.scripting.CacheableContent;
  * @since 1.0.0
  */
 abstract class BaseCompiler {
+	
+	protected final ElementCompiler elementCompiler;
 
-	private static final CacheableContent<Field, Method> methods = new CacheableContent<Field, Method>( 256 );
+	private static final ClassCacheableContent<Field, Method> methods = new ClassCacheableContent<Field, Method>( 8 );
 	private static final CacheableContent.Provider<Field, Method> methodProvider = new CacheableContent.Provider<Field, Method>() {
 		@Override
 		public Method create( Field field ) {
@@ -48,12 +53,35 @@ abstract class BaseCompiler {
 		}
 	};
 	
+	protected BaseCompiler( ElementCompiler elementCompiler ) {
+		this.elementCompiler = elementCompiler;
+	}
+	
+	/**
+	 * Use the annotated getter known by the generated accessors instead of
+	 * looking it up by the introspector, {@code null} means that only the
+	 * field itself is annotated.
+	 * 
+	 * @param beanType the bean type that declares or inherits the field
+	 * @param field the bean field
+	 * @param getterName the name of the annotated getter, may be null.
+	 */
+	protected final void registerReadMethod( final Class<?> beanType, Field field, final String getterName ) {
+		methods.getOrPut( field, new CacheableContent.Provider<Field, Method>() {
+			@Override
+			public Method create( Field target ) {
+				return getterName == null ? null : MethodUtils.getMatchingMethod( beanType, getterName );
+			}
+		} );
+	}
+	
 	/**
 	 * Provide a unified way to obtain annotations. First, the annotation object
 	 * will be obtained directly from the element itself. If the return result
 	 * is null, try to use the Getter method of the property to obtain the
 	 * annotation. If it is null again, the element is considered to have no
-	 * relevant annotation.
+	 * relevant annotation. In the field access mode, only the annotations of
+	 * the field itself are used.
 	 * 
 	 * @param element the annotated element
 	 * @param annotationType the annotated element class type
@@ -61,7 +89,7 @@ abstract class BaseCompiler {
 	 */
 	public <T extends Annotation> T getAnnotation( AnnotatedElement element, Class<T> annotationType ) {
 		T annotation = element.getAnnotation( annotationType );
-		if ( annotation == null && element instanceof Field ) {
+		if ( annotation == null && element instanceof Field && !elementCompiler.isFieldAccess() ) {
 			Method readMethod = methods.getOrPut( ( Field ) element, methodProvider );
 			if ( readMethod != null ) {
 				annotation = readMethod.getAnnotation( annotationType );
@@ -33,7 +33,11 @@ import com.viiyue.plugins.validator.annotation.When;
 import com.viiyue.plugins.validator.constraints.Required;
 import com.viiyue.plugins.validator.metadata.Element;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.accessor.Accessor;
+import com.viiyue.plugins.validator.metadata.accessor.AccessorFactory;
+import com.viiyue.plugins.validator.metadata.accessor.GeneratedAccessors;
 import com.viiyue.plugins.validator.scripting.CacheableContent;
+import com.viiyue.plugins.validator.utils.Assert;
 import com.viiyue.plugins.validator.utils.ObjectUtil;
 
 /**
@@ -44,27 +48,68 @@ import com.viiyue.plugins.validator.utils.ObjectUtil;
  */
 final class BeanCompiler extends BaseCompiler implements CacheableContent.Provider<Class<?>, List<Element>> {
 
-	private final ElementCompiler elementCompiler;
-
 	public BeanCompiler( ElementCompiler elementCompiler ) {
-		this.elementCompiler = elementCompiler;
+		super( elementCompiler );
 	}
 
+	/**
+	 * <p>
+	 * Compile the elements of the bean. Only the declared fields are compiled,
+	 * the inherited elements are shared with the compiled superclass, so the
+	 * fields of a common base class are compiled once and held once no matter
+	 * how many subclasses extend it.
+	 * 
+	 * <p>
+	 * The inherited element whose label is named after the bean type, that is
+	 * {@link Label @Label} without a value, is compiled again for the subclass.
+	 */
 	@Override
 	public List<Element> create( Class<?> beanType ) {
-		List<Field> fieldsList = FieldUtils.getAllFieldsList( beanType );
-		if ( fieldsList.isEmpty() ) {
-			return Collections.emptyList();
+		GeneratedAccessors generated = AccessorFactory.getGenerated( beanType );
+		if ( generated != null ) {
+			return create( beanType, getFields( beanType, generated.getProperties() ), generated );
+		}
+		final List<Element> elements = create( beanType, Arrays.asList( beanType.getDeclaredFields() ), null );
+		final Class<?> superclass = beanType.getSuperclass();
+		if ( superclass == null || superclass == Object.class ) {
+			return elements;
 		}
+		if ( !isSupportType( superclass ) ) {
+			elements.addAll( create( beanType, FieldUtils.getAllFieldsList( superclass ), null ) );
+			return elements;
+		}
+		for ( Element inherited : elementCompiler.compile( superclass ) ) {
+			Field field = inherited.getField();
+			if ( isTypedLabel( field ) ) {
+				elements.addAll( create( beanType, Collections.singletonList( field ), null ) );
+			} else {
+				elements.add( inherited );
+			}
+		}
+		return elements;
+	}
+	
+	private List<Element> create( Class<?> beanType, List<Field> fieldsList, GeneratedAccessors generated ) {
+		final boolean fieldAccess = elementCompiler.isFieldAccess();
 		final List<Element> elements = new ArrayList<Element>( fieldsList.size() );
 		for ( final Field field : fieldsList ) {
 			Element element = null;
+			
+			// The generated accessors already know the getters, so neither the
+			// annotated getter nor the property descriptor is looked up.
+			Accessor accessor = null;
+			if ( generated != null ) {
+				accessor = generated.getAccessor( field.getName() );
+				registerReadMethod( beanType, field, generated.getAnnotatedGetter( field.getName() ) );
+			}
+			final boolean accessorOnly = fieldAccess || accessor != null;
+			
 			// Get field or getter method annotations
 			// This operation will take some time and currently cannot be optimized ...
 			if ( getAnnotation( field, Valid.class ) == null ) {
 				List<Fragment> fragments = elementCompiler.compile( field );
 				if ( fragments != null ) {
-					element = new Element( field );
+					element = new Element( field, false, accessorOnly );
 					element.setFragments( fragments );
 				}
 			} else {
@@ -74,7 +119,7 @@ final class BeanCompiler extends BaseCompiler implements CacheableContent.Provid
 				final String fieldTypeName = fieldBeanType.getName();
 				if ( isSupportType( fieldBeanType ) ) {
 					elementCompiler.compile( fieldBeanType );
-					element = new Element( field, true );
+					element = new Element( field, true, accessorOnly );
 					Required required = getAnnotation( field, Required.class );
 					if ( required != null ) {
 						element.setFragments( Arrays.asList( AnnotatedElementCompiler.createFragment( required ) ) );
@@ -84,6 +129,10 @@ final class BeanCompiler extends BaseCompiler implements CacheableContent.Provid
 				}
 			}
 			if ( element != null ) {
+				if ( accessor == null ) {
+					accessor = fieldAccess ? AccessorFactory.create( field ) : AccessorFactory.create( element.getGetter() );
+				}
+				element.setAccessor( accessor );
 				element.setConditional( getAnnotation( field, When.class ) );
 				element.setLabel( getLabel( beanType, field ) );
 				elements.add( element );
@@ -92,6 +141,23 @@ final class BeanCompiler extends BaseCompiler implements CacheableContent.Provid
 		return elements;
 	}
 	
+	/**
+	 * Look up the fields of the properties listed by the generated accessors
+	 * 
+	 * @param beanType the target java bean type
+	 * @param properties the property names that carry validation rules
+	 * @return the fields in the same order as the properties
+	 */
+	private List<Field> getFields( Class<?> beanType, String [] properties ) {
+		List<Field> fields = new ArrayList<Field>( properties.length );
+		for ( String property : properties ) {
+			Field field = FieldUtils.getField( beanType, property, true );
+			Assert.notNull( field, "Field \"{0}\" not found in \"{1}\", the generated accessors may be stale", property, beanType.getName() );
+			fields.add( field );
+		}
+		return fields;
+	}
+	
 	/**
 	 * <p>
 	 * Use the result of the class loader to determine whether the current type
@@ -157,4 +223,10 @@ final class BeanCompiler extends BaseCompiler implements CacheableContent.Provid
 		return label.value();
 	}
 	
+	// Whether the label is named after the bean type, that is @Label without a value
+	private boolean isTypedLabel( Field field ) {
+		Label label = getAnnotation( field, Label.class );
+		return label != null && StringUtils.isEmpty( label.value() );
+	}
+	
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting.compiler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of the eager precompilation of the bean classes.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ * 
+ * @see ElementCompiler#precompile(ClassLoader, int, String...)
+ */
+public final class CompilationReport {
+
+	private final int scannedCount;
+	private final List<Class<?>> compiledTypes;
+	private final Map<String, Throwable> failures;
+	private final long elapsedTime;
+
+	CompilationReport( int scannedCount, List<Class<?>> compiledTypes, Map<String, Throwable> failures, long elapsedTime ) {
+		this.scannedCount = scannedCount;
+		this.compiledTypes = Collections.unmodifiableList( compiledTypes );
+		this.failures = Collections.unmodifiableMap( failures );
+		this.elapsedTime = elapsedTime;
+	}
+
+	/**
+	 * @return the number of scanned classes
+	 */
+	public int getScannedCount() {
+		return scannedCount;
+	}
+
+	/**
+	 * @return the classes that carry validation rules and have been compiled
+	 */
+	public List<Class<?>> getCompiledTypes() {
+		return compiledTypes;
+	}
+
+	/**
+	 * @return the compilation errors keyed by the class name
+	 */
+	public Map<String, Throwable> getFailures() {
+		return failures;
+	}
+
+	public boolean isSuccessful() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * @return the total elapsed time, in nanoseconds.
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis( elapsedTime );
+	}
+
+	@Override
+	public String toString() {
+		return "Precompiled " + compiledTypes.size() + " of " + scannedCount + " scanned classes in " + getElapsedMillis() + "ms, " + failures.size() + " failed";
+	}
+
+}
@@ -15,13 +15,45 @@
  */
 package com.viiyue.plugins.validator.scripting.compiler;
 
+import static com.viiyue.plugins.validator.Validator.LOG;
+
+import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
 
+import com.viiyue.plugins.validator.annotation.Mapping;
+import com.viiyue.plugins.validator.annotation.Valid;
+import com.viiyue.plugins.validator.constraints.Rules;
+import com.viiyue.plugins.validator.exception.ValidatorException;
+import com.viiyue.plugins.validator.handler.BaseHandler;
+import com.viiyue.plugins.validator.handler.Handler;
+import com.viiyue.plugins.validator.metadata.BoundFragment;
 import com.viiyue.plugins.validator.metadata.Element;
+import com.viiyue.plugins.validator.metadata.ExecutablePlan;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.FragmentInterner;
+import com.viiyue.plugins.validator.metadata.MessageKeys;
+import com.viiyue.plugins.validator.metadata.ValidationPlan;
 import com.viiyue.plugins.validator.scripting.CacheableContent;
+import com.viiyue.plugins.validator.scripting.ClassCacheableContent;
 import com.viiyue.plugins.validator.scripting.parser.TemplateRuleParser;
+import com.viiyue.plugins.validator.utils.ClassUtil;
 
 /**
  * Validation rule element compilation tool class
@@ -40,39 +72,442 @@ public final class ElementCompiler {
 	
 	private final int initialCapacity = 1 << 8; // 256
 	
+	// Registered handlers, used to bind fragments
+	private final Map<String, Handler> handlers;
+	
+	// Read the fields directly instead of the getters
+	private volatile boolean fieldAccess;
+	
 	// Template expression parser 
 	private final TemplateRuleParser templateParser = new TemplateRuleParser();
 	
 	// Bean class compiler
-	private final CacheableContent<Class<?>, List<Element>> elementsCache = new CacheableContent<Class<?>, List<Element>>( initialCapacity );
-	private final CacheableContent.Provider<Class<?>, List<Element>> elementProvider = new BeanCompiler( this );
+	private final ClassCacheableContent<Class<?>, GroupedPlans<List<Element>, ValidationPlan>> elementsCache = new ClassCacheableContent<Class<?>, GroupedPlans<List<Element>, ValidationPlan>>( 1 );
+	private final CacheableContent.Provider<Class<?>, GroupedPlans<List<Element>, ValidationPlan>> elementProvider = new BeanPlansProvider( new BeanCompiler( this ) );
 	
 	// Field annotation compiler
-	private final CacheableContent<AnnotatedElement, List<Fragment>> annotatedFragmentsCache = new CacheableContent<AnnotatedElement, List<Fragment>>( initialCapacity );
-	private final CacheableContent.Provider<AnnotatedElement, List<Fragment>> annotatedFragmentProvider = new AnnotatedElementCompiler( this );
+	private final ClassCacheableContent<AnnotatedElement, GroupedPlans<List<Fragment>, List<BoundFragment>>> annotatedFragmentsCache = new ClassCacheableContent<AnnotatedElement, GroupedPlans<List<Fragment>, List<BoundFragment>>>( 8 );
+	private final CacheableContent.Provider<AnnotatedElement, GroupedPlans<List<Fragment>, List<BoundFragment>>> annotatedFragmentProvider = new AnnotatedPlansProvider( new AnnotatedElementCompiler( this ) );
+	
+	// Method parameters compiler
+	private final ClassCacheableContent<Method, GroupedPlans<Method, ExecutablePlan>> executablesCache = new ClassCacheableContent<Method, GroupedPlans<Method, ExecutablePlan>>( 8 );
+	private final CacheableContent.Provider<Method, GroupedPlans<Method, ExecutablePlan>> executableProvider = new ExecutablePlansProvider();
 	
 	// Template rules compiler
-	private final CacheableContent<String, List<Fragment>> templatesCache = new CacheableContent<String, List<Fragment>>( initialCapacity );
-	private final CacheableContent.Provider<String, List<Fragment>> templateProvider = new TemplateRulesCompiler( this );
+	private final CacheableContent<String, GroupedPlans<List<Fragment>, List<BoundFragment>>> templatesCache = new CacheableContent<String, GroupedPlans<List<Fragment>, List<BoundFragment>>>( initialCapacity );
+	private final CacheableContent.Provider<String, GroupedPlans<List<Fragment>, List<BoundFragment>>> templateProvider = new TemplatePlansProvider( new TemplateRulesCompiler( this ) );
 	
+	/**
+	 * Create a compiler without handlers, the compiled fragments will not be
+	 * bound to the handlers or verified.
+	 */
 	public ElementCompiler() {
-		super();
+		this( null );
+	}
+	
+	/**
+	 * @param handlers the registered handlers, changes to it need to be
+	 * followed by {@link #clear()}.
+	 * @since 1.0.5
+	 */
+	public ElementCompiler( Map<String, Handler> handlers ) {
+		this.handlers = handlers;
 	}
 	
 	public TemplateRuleParser getTemplateParser() {
 		return templateParser;
 	}
 	
+	/**
+	 * @return true if the bean fields are read directly
+	 * @since 1.0.5
+	 */
+	public boolean isFieldAccess() {
+		return fieldAccess;
+	}
+	
+	/**
+	 * Whether to read the bean fields directly instead of the getters, the
+	 * compiled results are cleared if the mode is changed.
+	 * 
+	 * @param fieldAccess true to read the fields directly
+	 * @since 1.0.5
+	 */
+	public void setFieldAccess( boolean fieldAccess ) {
+		if ( this.fieldAccess != fieldAccess ) {
+			this.fieldAccess = fieldAccess;
+			clear();
+		}
+	}
+	
+	/**
+	 * Clear all compiled results, it needs to be called after the handlers
+	 * are changed, because the fragments are bound to the handlers when
+	 * compiling.
+	 * 
+	 * @since 1.0.5
+	 */
+	public void clear() {
+		elementsCache.clear();
+		annotatedFragmentsCache.clear();
+		executablesCache.clear();
+		templatesCache.clear();
+	}
+	
+	/**
+	 * Limit the number of cached template rules and regular expressions, the
+	 * compiled bean classes and annotated elements are not limited because
+	 * they are attached to their classes and released with them.
+	 * 
+	 * @param maximumSize the maximum number of entries, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public void setMaximumCacheSize( int maximumSize ) {
+		templatesCache.setMaximumSize( maximumSize );
+		templateParser.setMaximumCacheSize( maximumSize );
+		FragmentInterner.setMaximumCacheSize( maximumSize );
+	}
+	
+	/**
+	 * @return the statistics of the compiled result caches
+	 * @since 1.0.5
+	 */
+	public Map<String, CacheableContent.Statistics> getCacheStatistics() {
+		Map<String, CacheableContent.Statistics> statistics = new LinkedHashMap<String, CacheableContent.Statistics>( 8 );
+		statistics.put( "compiler.beans", elementsCache.getStatistics() );
+		statistics.put( "compiler.annotated", annotatedFragmentsCache.getStatistics() );
+		statistics.put( "compiler.executables", executablesCache.getStatistics() );
+		statistics.put( "compiler.templates", templatesCache.getStatistics() );
+		CacheableContent.Statistics patterns = templateParser.getCacheStatistics();
+		if ( patterns != null ) {
+			statistics.put( "parser.patterns", patterns );
+		}
+		statistics.putAll( FragmentInterner.getCacheStatistics() );
+		return statistics;
+	}
+	
 	public List<Element> compile( Class<?> beanType ) {
-		return elementsCache.getOrPut( beanType, elementProvider );
+		return elementsCache.getOrPut( beanType, elementProvider ).getSource();
 	}
 
 	public List<Fragment> compile( AnnotatedElement annotated ) {
-		return annotatedFragmentsCache.getOrPut( annotated, annotatedFragmentProvider );
+		return annotatedFragmentsCache.getOrPut( annotated, annotatedFragmentProvider ).getSource();
 	}
 	
 	public List<Fragment> compile( String rules ) {
-		return templatesCache.getOrPut( templateParser.clean( rules ), templateProvider );
+		return templatesCache.getOrPut( templateParser.clean( rules ), templateProvider ).getSource();
+	}
+	
+	/**
+	 * Compile the validation plan of the bean under the specified groups
+	 * 
+	 * @param beanType the target bean class type
+	 * @param groups the validation groups
+	 * @return the immutable validation plan
+	 * @since 1.0.5
+	 */
+	public ValidationPlan compile( Class<?> beanType, Class<?> [] groups ) {
+		return elementsCache.getOrPut( beanType, elementProvider ).getPlan( groups );
+	}
+	
+	/**
+	 * Compile the fragments of the annotated element under the specified groups
+	 * 
+	 * @param annotated the annotated element
+	 * @param groups the validation groups
+	 * @return the filtered and bound fragments that cannot be modified, may be {@code null}.
+	 * @since 1.0.5
+	 */
+	public List<BoundFragment> compile( AnnotatedElement annotated, Class<?> [] groups ) {
+		return annotatedFragmentsCache.getOrPut( annotated, annotatedFragmentProvider ).getPlan( groups );
+	}
+	
+	/**
+	 * Compile the validation plan of all parameters of the method under the
+	 * specified groups
+	 * 
+	 * @param method the target method
+	 * @param groups the validation groups
+	 * @return the immutable validation plan
+	 * @since 1.0.5
+	 */
+	public ExecutablePlan compile( Method method, Class<?> [] groups ) {
+		return executablesCache.getOrPut( method, executableProvider ).getPlan( groups );
+	}
+	
+	/**
+	 * Compile the fragments of the rule template under the specified groups
+	 * 
+	 * @param rules the validation rule template
+	 * @param groups the validation groups
+	 * @return the filtered and bound fragments that cannot be modified, may be {@code null}.
+	 * @since 1.0.5
+	 */
+	public List<BoundFragment> compile( String rules, Class<?> [] groups ) {
+		return templatesCache.getOrPut( templateParser.clean( rules ), templateProvider ).getPlan( groups );
+	}
+	
+	/**
+	 * <p>
+	 * Eagerly compile all classes under the packages that carry validation
+	 * rules, that is the fields, getters or method parameters annotated with
+	 * {@code @Mapping} based constraints, {@code @Rules} or {@code @Valid}.
+	 * The nested {@code @Valid} types and {@code @Rules} templates are
+	 * compiled along with the bean.
+	 * 
+	 * <p>
+	 * The classes are loaded without being initialized, and compiled in
+	 * parallel on a dedicated fork-join pool. The classes that cannot be
+	 * loaded are skipped, and the compilation errors are collected into the
+	 * report instead of being thrown.
+	 * 
+	 * @param classLoader the class loader used to scan and load the classes
+	 * @param parallelism the parallelism level of the fork-join pool
+	 * @param basePackages the base packages to scan
+	 * @return the compilation report
+	 * @since 1.0.5
+	 */
+	public CompilationReport precompile( ClassLoader classLoader, int parallelism, String ... basePackages ) {
+		long startTime = System.nanoTime();
+		Set<String> classNames = new LinkedHashSet<String>( 256 );
+		for ( String basePackage : basePackages ) {
+			classNames.addAll( ClassUtil.getClassNames( classLoader, basePackage.trim() ) );
+		}
+		PrecompileTask task = new PrecompileTask( classLoader, classNames.toArray( new String[ classNames.size() ] ) );
+		ForkJoinPool pool = new ForkJoinPool( Math.max( 1, parallelism ) );
+		try {
+			pool.invoke( task );
+		} finally {
+			pool.shutdown();
+		}
+		CompilationReport report = new CompilationReport( classNames.size(), new ArrayList<Class<?>>( task.compiledTypes ), task.failures, System.nanoTime() - startTime );
+		LOG.info( "{} under {}", report, Arrays.toString( basePackages ) );
+		return report;
+	}
+	
+	private boolean precompile( Class<?> type ) {
+		if ( type.isAnnotation() ) {
+			return false;
+		}
+		boolean compiled = false, hasRules = false;
+		for ( Field field : FieldUtils.getAllFieldsList( type ) ) {
+			hasRules |= hasRules( field.getAnnotations() );
+		}
+		for ( Method method : type.getDeclaredMethods() ) {
+			hasRules |= hasRules( method.getAnnotations() );
+			for ( Parameter parameter : method.getParameters() ) {
+				if ( hasRules( parameter.getAnnotations() ) ) {
+					compile( parameter );
+					compiled = true;
+				}
+			}
+		}
+		if ( hasRules && !type.isInterface() ) {
+			compile( type );
+			compiled = true;
+		}
+		return compiled;
+	}
+	
+	private boolean hasRules( Annotation [] annotations ) {
+		for ( Annotation annotation : annotations ) {
+			Class<? extends Annotation> annotationType = annotation.annotationType();
+			if ( annotationType == Rules.class || annotationType == Valid.class || annotationType.isAnnotationPresent( Mapping.class ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Verify and prepare the compiled fragments once, so that unknown handler
+	 * names or unacceptable arguments are rejected when compiling rather than
+	 * validating.
+	 * 
+	 * @param fragments the compiled fragments
+	 * @return the verified fragments
+	 */
+	private List<Fragment> verify( List<Fragment> fragments ) {
+		if ( handlers == null || fragments == null ) {
+			return fragments;
+		}
+		for ( Fragment fragment : fragments ) {
+			Handler handler = handlers.get( fragment.getName() );
+			if ( handler == null ) {
+				throw new ValidatorException( "Fragment \"{0}\" did not find a suitable handler", fragment.getName() );
+			}
+			MessageKeys.untyped( fragment.getName(), null ); // Build in advance
+			if ( handler instanceof BaseHandler ) {
+				BaseHandler baseHandler = ( BaseHandler ) handler;
+				baseHandler.verify( fragment );
+				baseHandler.prepare( fragment );
+			}
+		}
+		return fragments;
+	}
+	
+	private Class<?> getDeclaredType( AnnotatedElement annotated ) {
+		if ( annotated instanceof Field ) {
+			return ( ( Field ) annotated ).getType();
+		}
+		if ( annotated instanceof Parameter ) {
+			return ( ( Parameter ) annotated ).getType();
+		}
+		if ( annotated instanceof Method ) {
+			return ( ( Method ) annotated ).getReturnType();
+		}
+		return null;
+	}
+	
+	/**
+	 * Split the classes in half until there is only one class left
+	 */
+	private final class PrecompileTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final ClassLoader classLoader;
+		private final String [] classNames;
+		private final int from;
+		private final int to;
+		private final Queue<Class<?>> compiledTypes;
+		private final Map<String, Throwable> failures;
+		
+		private PrecompileTask( ClassLoader classLoader, String [] classNames ) {
+			this( classLoader, classNames, 0, classNames.length, new ConcurrentLinkedQueue<Class<?>>(), new ConcurrentHashMap<String, Throwable>( 4 ) );
+		}
+		
+		private PrecompileTask( ClassLoader classLoader, String [] classNames, int from, int to, Queue<Class<?>> compiledTypes, Map<String, Throwable> failures ) {
+			this.classLoader = classLoader;
+			this.classNames = classNames;
+			this.from = from;
+			this.to = to;
+			this.compiledTypes = compiledTypes;
+			this.failures = failures;
+		}
+		
+		@Override
+		protected void compute() {
+			if ( to - from > 1 ) {
+				int middle = ( from + to ) >>> 1;
+				invokeAll( 
+					new PrecompileTask( classLoader, classNames, from, middle, compiledTypes, failures ), 
+					new PrecompileTask( classLoader, classNames, middle, to, compiledTypes, failures ) 
+				);
+				return;
+			}
+			if ( to == from ) {
+				return;
+			}
+			String className = classNames[ from ];
+			Class<?> type;
+			try {
+				type = Class.forName( className, false, classLoader );
+			} catch ( ClassNotFoundException | LinkageError e ) {
+				LOG.debug( "Skip class '{}' that cannot be loaded", className );
+				return;
+			}
+			try {
+				if ( precompile( type ) ) {
+					compiledTypes.add( type );
+				}
+			} catch ( LinkageError e ) {
+				LOG.debug( "Skip class '{}' that cannot be linked", className );
+			} catch ( Throwable e ) {
+				LOG.warn( "Failed to precompile class '{}' : {}", className, e.getMessage() );
+				failures.put( className, e );
+			}
+		}
+		
+	}
+	
+	private final class BeanPlansProvider implements CacheableContent.Provider<Class<?>, GroupedPlans<List<Element>, ValidationPlan>>, GroupedPlans.PlanProvider<List<Element>, ValidationPlan> {
+		
+		private final BeanCompiler compiler;
+		
+		private BeanPlansProvider( BeanCompiler compiler ) {
+			this.compiler = compiler;
+		}
+		
+		@Override
+		public GroupedPlans<List<Element>, ValidationPlan> create( Class<?> beanType ) {
+			List<Element> elements = compiler.create( beanType );
+			for ( Element element : elements ) {
+				List<Fragment> fragments = verify( element.getFragments() );
+				if ( fragments != null ) {
+					for ( Fragment fragment : fragments ) {
+						element.getMessageKeys( fragment.getName(), null ); // Build in advance
+					}
+				}
+			}
+			return new GroupedPlans<List<Element>, ValidationPlan>( elements, this );
+		}
+		
+		@Override
+		public ValidationPlan create( List<Element> elements, Class<?> [] groups ) {
+			return ValidationPlan.of( elements, handlers, groups );
+		}
+	}
+	
+	private final class AnnotatedPlansProvider implements CacheableContent.Provider<AnnotatedElement, GroupedPlans<List<Fragment>, List<BoundFragment>>> {
+		
+		private final AnnotatedElementCompiler compiler;
+		
+		private AnnotatedPlansProvider( AnnotatedElementCompiler compiler ) {
+			this.compiler = compiler;
+		}
+		
+		@Override
+		public GroupedPlans<List<Fragment>, List<BoundFragment>> create( AnnotatedElement annotated ) {
+			return new GroupedPlans<List<Fragment>, List<BoundFragment>>( verify( compiler.create( annotated ) ), new FragmentPlanProvider( getDeclaredType( annotated ) ) );
+		}
+	}
+	
+	private final class ExecutablePlansProvider implements CacheableContent.Provider<Method, GroupedPlans<Method, ExecutablePlan>>, GroupedPlans.PlanProvider<Method, ExecutablePlan> {
+		
+		@Override
+		public GroupedPlans<Method, ExecutablePlan> create( Method method ) {
+			return new GroupedPlans<Method, ExecutablePlan>( method, this );
+		}
+		
+		@Override
+		public ExecutablePlan create( Method method, Class<?> [] groups ) {
+			Parameter [] parameters = method.getParameters();
+			List<List<BoundFragment>> fragments = new ArrayList<List<BoundFragment>>( parameters.length );
+			for ( Parameter parameter : parameters ) {
+				fragments.add( compile( parameter, groups ) );
+			}
+			return ExecutablePlan.of( method, fragments );
+		}
+	}
+	
+	private final class TemplatePlansProvider implements CacheableContent.Provider<String, GroupedPlans<List<Fragment>, List<BoundFragment>>> {
+		
+		private final TemplateRulesCompiler compiler;
+		private final FragmentPlanProvider planProvider = new FragmentPlanProvider( null );
+		
+		private TemplatePlansProvider( TemplateRulesCompiler compiler ) {
+			this.compiler = compiler;
+		}
+		
+		@Override
+		public GroupedPlans<List<Fragment>, List<BoundFragment>> create( String template ) {
+			return new GroupedPlans<List<Fragment>, List<BoundFragment>>( verify( compiler.create( template ) ), planProvider );
+		}
+	}
+	
+	private final class FragmentPlanProvider implements GroupedPlans.PlanProvider<List<Fragment>, List<BoundFragment>> {
+		
+		private final Class<?> declaredType;
+		
+		private FragmentPlanProvider( Class<?> declaredType ) {
+			this.declaredType = declaredType;
+		}
+		
+		@Override
+		public List<BoundFragment> create( List<Fragment> fragments, Class<?> [] groups ) {
+			return BoundFragment.bind( ValidationPlan.filter( fragments, groups ), handlers, declaredType );
+		}
 	}
 	
 }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting.compiler;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.viiyue.plugins.validator.metadata.ValidationPlan;
+
+/**
+ * <p>
+ * Compiled source together with its validation plans under different groups.
+ * 
+ * <p>
+ * The plan of the default group is created immediately, and the plans of
+ * other groups are created once on first use. The single group lookup is
+ * keyed by the group class directly, so the lookup does not allocate any
+ * objects.
+ * 
+ * <p>#ThreadSafe#</p>
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+final class GroupedPlans<S, V> {
+
+	private final S source;
+	private final V defaultPlan;
+	private final PlanProvider<S, V> provider;
+	private final ConcurrentMap<Class<?>, Holder<V>> singleGroupPlans = new ConcurrentHashMap<Class<?>, Holder<V>>( 8 );
+	private final ConcurrentMap<GroupsKey, Holder<V>> multipleGroupPlans = new ConcurrentHashMap<GroupsKey, Holder<V>>( 4 );
+
+	public GroupedPlans( S source, PlanProvider<S, V> provider ) {
+		this.source = source;
+		this.provider = provider;
+		this.defaultPlan = provider.create( source, null );
+	}
+
+	public S getSource() {
+		return source;
+	}
+
+	public V getPlan( Class<?> ... groups ) {
+		if ( ValidationPlan.isDefaultGroups( groups ) ) {
+			return defaultPlan;
+		}
+		if ( groups.length == 1 ) {
+			Class<?> group = groups[ 0 ];
+			Holder<V> holder = singleGroupPlans.get( group );
+			if ( holder == null ) {
+				holder = putIfAbsent( singleGroupPlans, group, groups.clone() );
+			}
+			return holder.plan;
+		}
+		Holder<V> holder = multipleGroupPlans.get( new GroupsKey( groups ) );
+		if ( holder == null ) {
+			GroupsKey key = new GroupsKey( groups.clone() ); // Do not hold the caller's array
+			holder = putIfAbsent( multipleGroupPlans, key, key.groups );
+		}
+		return holder.plan;
+	}
+
+	private <K> Holder<V> putIfAbsent( ConcurrentMap<K, Holder<V>> plans, K key, Class<?> [] groups ) {
+		Holder<V> holder = new Holder<V>( provider.create( source, groups ) );
+		Holder<V> existing = plans.putIfAbsent( key, holder );
+		return existing == null ? holder : existing;
+	}
+
+	/**
+	 * Validation plan provider
+	 */
+	static interface PlanProvider<S, V> {
+		
+		/**
+		 * @param source the compiled source
+		 * @param groups the validation groups, {@code null} for default groups.
+		 * @return the validation plan, may be {@code null}.
+		 */
+		V create( S source, Class<?> [] groups );
+	}
+
+	/**
+	 * The plan may be {@code null}, so wrap it before putting it into the map.
+	 */
+	private static final class Holder<V> {
+		private final V plan;
+
+		private Holder( V plan ) {
+			this.plan = plan;
+		}
+	}
+
+	private static final class GroupsKey {
+		
+		private final int hashCode;
+		private final Class<?> [] groups;
+
+		private GroupsKey( Class<?> [] groups ) {
+			this.groups = groups;
+			this.hashCode = Arrays.hashCode( groups );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals( Object obj ) {
+			return obj instanceof GroupsKey && Arrays.equals( groups, ( ( GroupsKey ) obj ).groups );
+		}
+	}
+
+}
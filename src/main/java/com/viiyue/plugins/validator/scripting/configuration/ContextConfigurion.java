@@ -31,6 +31,12 @@ public class ContextConfigurion {
 	private boolean enableStrictMode = true;
 	private boolean enableSingleMode = false;
 	private boolean enableWarningLog = true;
+	private boolean enableLazyMessage = false;
+	private boolean enableExpression = true;
+	private boolean enableFieldAccess = false;
+	private boolean enableCacheStatistics = false;
+	private LengthMetric lengthMetric = LengthMetric.GBK_BYTES;
+	private int maximumCacheSize = 1 << 12; // 4096
 	private List<MessageResource> resources = new ArrayList<MessageResource>( 4 );
 
 	public boolean isEnableStrictMode() {
@@ -57,6 +63,148 @@ public class ContextConfigurion {
 		this.enableWarningLog = enableWarningLog;
 	}
 
+	/**
+	 * @return true if the message texts of the results are rendered when they are read
+	 * @since 1.0.5
+	 */
+	public boolean isEnableLazyMessage() {
+		return enableLazyMessage;
+	}
+
+	/**
+	 * Whether to render the message texts of the validation results only when
+	 * they are read, such as {@code FragmentResult#getErrorMessage()}, the
+	 * default is to render them immediately.
+	 * 
+	 * @param enableLazyMessage true to render the messages lazily
+	 * @since 1.0.5
+	 */
+	public void setEnableLazyMessage( boolean enableLazyMessage ) {
+		this.enableLazyMessage = enableLazyMessage;
+	}
+
+	/**
+	 * @return true if the expressions are evaluated by JEXL
+	 * @since 1.0.5
+	 */
+	public boolean isEnableExpression() {
+		return enableExpression;
+	}
+
+	/**
+	 * <p>
+	 * Whether to evaluate the rule arguments and message placeholders that
+	 * are real expressions by JEXL, the default is enabled. When it is
+	 * disabled, only the literal arguments, the argument and variable
+	 * placeholders and the property paths are supported, and the JEXL engine
+	 * is never created.
+	 * 
+	 * <p>
+	 * <b>Note:</b> this setting is global to the JVM instead of the factory,
+	 * the expression resolver is shared by all factories and the factory
+	 * configured last wins. Factories that need different settings in the
+	 * same JVM must be loaded by different class loaders.
+	 * 
+	 * @param enableExpression false to run without the JEXL engine
+	 * @since 1.0.5
+	 * 
+	 * @see com.viiyue.plugins.validator.scripting.ExpressionResolver#setExpressionEnabled(boolean)
+	 */
+	public void setEnableExpression( boolean enableExpression ) {
+		this.enableExpression = enableExpression;
+	}
+
+	/**
+	 * @return true if the bean fields are read directly
+	 * @since 1.0.5
+	 */
+	public boolean isEnableFieldAccess() {
+		return enableFieldAccess;
+	}
+
+	/**
+	 * Whether to read the bean fields directly instead of calling the getters,
+	 * the default is disabled. In the field access mode, the beans do not need
+	 * to be standard java beans, such as immutable value classes without
+	 * getters, and the annotations on the getters are not used.
+	 * 
+	 * @param enableFieldAccess true to read the fields directly
+	 * @since 1.0.5
+	 */
+	public void setEnableFieldAccess( boolean enableFieldAccess ) {
+		this.enableFieldAccess = enableFieldAccess;
+	}
+
+	/**
+	 * @return true if the statistics of the internal caches are recorded
+	 * @since 1.0.5
+	 */
+	public boolean isEnableCacheStatistics() {
+		return enableCacheStatistics;
+	}
+
+	/**
+	 * <p>
+	 * Whether to record the hit/miss/eviction/load time statistics of the
+	 * internal caches, the default is disabled, so a cache hit does not write
+	 * any counter.
+	 * 
+	 * <p>
+	 * <b>Note:</b> this setting is global to the JVM instead of the factory,
+	 * the factory configured last wins.
+	 * 
+	 * @param enableCacheStatistics true to record the cache statistics
+	 * @since 1.0.5
+	 * 
+	 * @see com.viiyue.plugins.validator.scripting.CacheableContent#setRecordStatistics(boolean)
+	 */
+	public void setEnableCacheStatistics( boolean enableCacheStatistics ) {
+		this.enableCacheStatistics = enableCacheStatistics;
+	}
+
+	/**
+	 * @return the way to measure the length of the text
+	 * @since 1.0.5
+	 */
+	public LengthMetric getLengthMetric() {
+		return lengthMetric;
+	}
+
+	/**
+	 * @param lengthMetric the way to measure the length of the text, the default is {@link LengthMetric#GBK_BYTES}.
+	 * @since 1.0.5
+	 */
+	public void setLengthMetric( LengthMetric lengthMetric ) {
+		this.lengthMetric = lengthMetric == null ? LengthMetric.GBK_BYTES : lengthMetric;
+	}
+
+	/**
+	 * @return the maximum number of entries of each dynamic content cache
+	 * @since 1.0.5
+	 */
+	public int getMaximumCacheSize() {
+		return maximumCacheSize;
+	}
+
+	/**
+	 * Limit the caches whose keys come from the runtime texts, such as the
+	 * template rules, regular expressions, JEXL expressions and message
+	 * templates, the entries that have not been used recently are evicted
+	 * first. The default is 4096 entries per cache.
+	 * 
+	 * <p>
+	 * <b>Note:</b> only the template rules and regular expressions are cached
+	 * per factory. The JEXL expressions, message templates and interned rule
+	 * fragments are shared by all factories in the JVM, so their limit is the
+	 * one of the factory configured last.
+	 * 
+	 * @param maximumCacheSize the maximum number of entries, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public void setMaximumCacheSize( int maximumCacheSize ) {
+		this.maximumCacheSize = maximumCacheSize;
+	}
+
 	public Locale getDefaultLanguage() {
 		return defaultLanguage;
 	}
@@ -119,6 +267,56 @@ public class ContextConfigurion {
 			return this;
 		}
 		
+		public Builder enableLazyMessage() {
+			this.config.setEnableLazyMessage( true );
+			return this;
+		}
+		
+		public Builder disableLazyMessage() {
+			this.config.setEnableLazyMessage( false );
+			return this;
+		}
+		
+		public Builder enableExpression() {
+			this.config.setEnableExpression( true );
+			return this;
+		}
+		
+		public Builder disableExpression() {
+			this.config.setEnableExpression( false );
+			return this;
+		}
+		
+		public Builder enableFieldAccess() {
+			this.config.setEnableFieldAccess( true );
+			return this;
+		}
+		
+		public Builder disableFieldAccess() {
+			this.config.setEnableFieldAccess( false );
+			return this;
+		}
+		
+		public Builder enableCacheStatistics() {
+			this.config.setEnableCacheStatistics( true );
+			return this;
+		}
+		
+		public Builder disableCacheStatistics() {
+			this.config.setEnableCacheStatistics( false );
+			return this;
+		}
+		
+		public Builder lengthMetric( LengthMetric lengthMetric ) {
+			this.config.setLengthMetric( lengthMetric );
+			return this;
+		}
+		
+		public Builder maximumCacheSize( int maximumCacheSize ) {
+			this.config.setMaximumCacheSize( maximumCacheSize );
+			return this;
+		}
+		
 		public Builder defaultLanguage( String defaultLanguage ) {
 			this.config.setDefaultLanguage( defaultLanguage );
 			return this;
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting.configuration;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+
+/**
+ * The way to measure the length of the text, used by the length related
+ * validation rules, such as {@code max}, {@code min}, {@code range} and
+ * {@code length}. None of them allocates memory when measuring.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ *
+ * @see ContextConfigurion#setLengthMetric(LengthMetric)
+ */
+public enum LengthMetric {
+
+	/**
+	 * The number of UTF-16 chars, the same as {@link CharSequence#length()}.
+	 */
+	CHARS {
+		@Override
+		public int length( CharSequence text ) {
+			return text.length();
+		}
+	},
+
+	/**
+	 * The number of Unicode code points, a supplementary character is counted as one.
+	 */
+	CODE_POINTS {
+		@Override
+		public int length( CharSequence text ) {
+			return Character.codePointCount( text, 0, text.length() );
+		}
+	},
+
+	/**
+	 * The number of bytes encoded by GBK, the same as
+	 * {@code text.getBytes("GBK").length}, but computed by scanning the chars.
+	 * This is the default metric.
+	 */
+	GBK_BYTES {
+		@Override
+		public int length( CharSequence text ) {
+			int length = 0;
+			for ( int i = 0, size = text.length(); i < size; i ++ ) {
+				char c = text.charAt( i );
+				if ( c < 0x80 ) {
+					length ++;
+				} else if ( Character.isHighSurrogate( c ) ) {
+					// The surrogate pair cannot be encoded, replaced by '?'
+					if ( i + 1 < size && Character.isLowSurrogate( text.charAt( i + 1 ) ) ) {
+						i ++;
+					}
+					length ++;
+				} else {
+					length += GbkTable.width( c );
+				}
+			}
+			return length;
+		}
+	};
+
+	/**
+	 * Measure the length of the text
+	 *
+	 * @param text the target text, cannot be null.
+	 * @return the length of the text
+	 */
+	public abstract int length( CharSequence text );
+
+	/**
+	 * The chars that can be encoded by GBK, it is initialized when it is
+	 * used for the first time. Unmappable chars are replaced by a single byte
+	 * '?', and all other non-ASCII chars take two bytes.
+	 */
+	private static final class GbkTable {
+
+		private static final long [] ENCODABLE = new long[ 1 << 10 ];
+
+		static {
+			if ( Charset.isSupported( "GBK" ) ) {
+				CharsetEncoder encoder = Charset.forName( "GBK" ).newEncoder();
+				for ( int c = 0x80; c <= Character.MAX_VALUE; c ++ ) {
+					if ( !Character.isSurrogate( ( char ) c ) && encoder.canEncode( ( char ) c ) ) {
+						ENCODABLE[ c >>> 6 ] |= 1L << c;
+					}
+				}
+			}
+		}
+
+		static int width( char c ) {
+			return ( ENCODABLE[ c >>> 6 ] & ( 1L << c ) ) == 0 ? 1 : 2;
+		}
+
+	}
+
+}
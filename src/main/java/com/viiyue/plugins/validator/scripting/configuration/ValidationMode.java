@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting.configuration;
+
+/**
+ * How far a single validation call goes after the first violation, it can
+ * be specified for each call, otherwise it is decided by
+ * {@link ContextConfigurion#isEnableSingleMode()}.
+ *
+ * @author tangxbai
+ * @since 1.0.5
+ *
+ * @see com.viiyue.plugins.validator.ValidatorFactory#validateBean(Object, java.util.Locale, ValidationMode, Class...)
+ */
+public enum ValidationMode {
+
+	/**
+	 * Validate all elements and all fragments, collect every violation.
+	 */
+	COLLECT_ALL,
+
+	/**
+	 * Stop after the first rejected element, all fragments of that element
+	 * are still validated. The same as the single mode of the configuration.
+	 */
+	FIRST_ELEMENT,
+
+	/**
+	 * Stop at the first rejected fragment, the remaining fragments and
+	 * elements are neither validated nor rendered.
+	 */
+	FIRST_FRAGMENT;
+
+	/**
+	 * @param configuration the context configuration
+	 * @return the validation mode of the configuration
+	 */
+	public static ValidationMode of( ContextConfigurion configuration ) {
+		return configuration.isEnableSingleMode() ? FIRST_ELEMENT : COLLECT_ALL;
+	}
+
+}
@@ -17,11 +17,12 @@ package com.viiyue.plugins.validator.scripting.message;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,6 +51,8 @@ import com.viiyue.plugins.validator.utils.ClassUtil;
  */
 public class DefaultMessageResolver implements MessageResolver {
 	
+	private static final int MAX_LOCALE_CATALOGS = 1 << 8; // 256
+	
 	private final String keyPrefix;
 	private final String internalResourceName;
 	private final List<String> externalResourceNames;
@@ -59,6 +62,12 @@ public class DefaultMessageResolver implements MessageResolver {
 	private final ConcurrentMap<String, ResourceBundle> externalBundles = new ConcurrentHashMap<String, ResourceBundle>( 32 );
 	private final ConcurrentMap<String, ResourceBundle> internalBundles = new ConcurrentHashMap<String, ResourceBundle>( 32 );
 	
+	// Flattened message texts, the locale fallback chain has been applied
+	private final Set<String> languageTags = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>( 16 ) );
+	private final ConcurrentMap<String, Map<String, String>> catalogs = new ConcurrentHashMap<String, Map<String, String>>( 16 );
+	private final ConcurrentMap<Locale, Map<String, String>> localeCatalogs = new ConcurrentHashMap<Locale, Map<String, String>>( 16 );
+	private volatile Map<String, String> defaultCatalog;
+	
 	public DefaultMessageResolver( String internalResourceName, String keyPrefix, String ... defaultLanguages ) {
 		Assert.notNull( internalResourceName, "'internalResourceName' parameter is required" );
 		this.internalResourceName = internalResourceName;
@@ -139,37 +148,93 @@ public class DefaultMessageResolver implements MessageResolver {
 	@Override
 	public String resolve( String key, Locale locale, String defaultValue ) {
 		Assert.notNull( key, "Resource key cannot be null" );
-		String resourceText = null;
-		ResourceBundle resource = null;
+		String resourceText = getCatalog( locale ).get( key );
 		
-		// Get text from a custom resource bundle
-		if ( CollectionUtils.isNotEmpty( externalResourceNames ) ) {
-			for ( String externalResourceName : externalResourceNames ) {
-				try {
-					resource = getResourceBundle( externalBundles, locale, externalResourceName );
-					resourceText = resource.getString( key );
-				} catch ( Exception e ) {
-				}
-				if ( resourceText != null ) {
-					return resourceText;
-				}
+		// Finally, if no value is obtained, the default value is used instead.
+		return ObjectUtils.defaultIfNull( resourceText, defaultValue );
+	}
+	
+	/**
+	 * Flatten all registered resource bundles of the default locale and the
+	 * preloaded languages in advance, the message catalogs of other locales
+	 * are flattened when they are used for the first time.
+	 * 
+	 * @since 1.0.5
+	 */
+	public void preloadCatalogs() {
+		getCatalog( null );
+		for ( String languageTag : languageTags ) {
+			getCatalog( Locale.forLanguageTag( languageTag ) );
+		}
+	}
+	
+	/**
+	 * Get the flattened message texts of the locale, each resolving is a
+	 * single map lookup without any missing resource exceptions.
+	 */
+	private Map<String, String> getCatalog( Locale locale ) {
+		if ( locale == null ) {
+			Map<String, String> catalog = defaultCatalog;
+			if ( catalog == null ) {
+				this.defaultCatalog = catalog = createCatalog( null );
 			}
+			return catalog;
+		}
+		Map<String, String> catalog = localeCatalogs.get( locale );
+		if ( catalog != null ) {
+			return catalog;
 		}
 		
-		// Get default text from internal resource bundle
-		if ( resourceText == null ) {
-			try {
-				resource = getResourceBundle( internalBundles, locale, internalResourceName );
-				resourceText = resource.getString( key );
-			} catch ( MissingResourceException ex ) {
-				// LOG.warn( "No resource text found with key \"{}\"", key );
+		// Locales that fall back to the same bundles share the same catalog.
+		String catalogKey = locale.toLanguageTag();
+		if ( !languageTags.contains( catalogKey ) ) {
+			catalogKey = locale.getLanguage();
+			if ( !languageTags.contains( catalogKey ) ) {
+				return getCatalog( null );
 			}
 		}
-		
-		// Finally, if no value is obtained, the default value is used instead.
-		return ObjectUtils.defaultIfNull( resourceText, defaultValue );
+		catalog = catalogs.get( catalogKey );
+		if ( catalog == null ) {
+			catalog = createCatalog( locale );
+			Map<String, String> existing = catalogs.putIfAbsent( catalogKey, catalog );
+			catalog = existing == null ? catalog : existing;
+		}
+		if ( localeCatalogs.size() < MAX_LOCALE_CATALOGS ) {
+			localeCatalogs.putIfAbsent( locale, catalog );
+		}
+		return catalog;
+	}
+	
+	/**
+	 * The external resources registered first take precedence, and the
+	 * internal resource has the lowest priority.
+	 */
+	private Map<String, String> createCatalog( Locale locale ) {
+		Map<String, String> catalog = new HashMap<String, String>( 256 );
+		flattenResourceBundle( catalog, getResourceBundle( internalBundles, locale, internalResourceName ) );
+		for ( int i = externalResourceNames.size() - 1; i >= 0; i -- ) {
+			flattenResourceBundle( catalog, getResourceBundle( externalBundles, locale, externalResourceNames.get( i ) ) );
+		}
+		return Collections.unmodifiableMap( catalog );
 	}
 	
+	private void flattenResourceBundle( Map<String, String> catalog, ResourceBundle bundle ) {
+		if ( bundle == null ) {
+			return;
+		}
+		for ( String key : bundle.keySet() ) {
+			Object text = bundle.getObject( key );
+			if ( text instanceof String ) {
+				catalog.put( key, ( String ) text );
+			}
+		}
+	}
+	
+	private void clearCatalogs() {
+		this.catalogs.clear();
+		this.localeCatalogs.clear();
+		this.defaultCatalog = null;
+	}
 	
 	private void addResourceBundle( boolean isExternal, String baseResourceName, String ... languages ) {
 		ConcurrentMap<String, ResourceBundle> bundles = isExternal ? externalBundles : internalBundles;
@@ -183,12 +248,14 @@ public class DefaultMessageResolver implements MessageResolver {
 						language = StringUtils.replace( language, "_", "-" );
 					}
 					initResourceBundle( bundles, baseResourceName, language, Locale.forLanguageTag( language ) );
+					this.languageTags.add( language );
 				}
 			}
 			if ( isExternal ) {
 				this.externalResourceNames.add( baseResourceName );
 			}
 		}
+		clearCatalogs();
 	}
 	
 	private void initResourceBundle( ConcurrentMap<String, ResourceBundle> bundles, String baseName, String languageTag, Locale locale ) {
@@ -51,7 +51,7 @@ final class ArgumentContentParser implements ContentParser {
 
 	@Override
 	public int doParser( Fragment fragment, StringBuilder appender, char[] src, int index, int len ) {
-		MapContext context = null;
+		Pattern pattern = null;
 		boolean isEscape = false;
 		boolean isPattern = false;
 		boolean isSingleQuote = false;
@@ -65,9 +65,8 @@ final class ArgumentContentParser implements ContentParser {
 			if ( isPattern ) {
 				if ( c == '/' && !isEscape ) {
 					isPattern = false;
-					Pattern pattern = patternCaches.getOrPut( regexpBuilder.toString(), patternProvider );
-					context = new MapContext( MapUtil.newObjectMap( "pattern", pattern ) );
-					appender.append( "pattern" ); // Variable placeholder
+					pattern = patternCaches.getOrPut( regexpBuilder.toString(), patternProvider );
+					appender.append( LiteralArgumentParser.PATTERN_VARIABLE ); // Variable placeholder
 					regexpBuilder.setLength( 0 );
 				} else {
 					regexpBuilder.append( c );
@@ -87,7 +86,7 @@ final class ArgumentContentParser implements ContentParser {
 			} else if ( c == ')' ) {
 				String arguments = appender.toString();
 				if ( StringUtils.isNotEmpty( arguments ) ) {
-					fragment.arguments( ExpressionResolver.resolveArguments( arguments, context ) );
+					fragment.arguments( resolveArguments( arguments, pattern ) );
 				}
 				appender.setLength( 0 );
 				break;
@@ -119,6 +118,23 @@ final class ArgumentContentParser implements ContentParser {
 		return index;
 	}
 	
+	/**
+	 * Parse the literal arguments natively, JEXL is only used to evaluate the
+	 * arguments that contain real expressions.
+	 */
+	private Object [] resolveArguments( String arguments, Pattern pattern ) {
+		Object [] values = LiteralArgumentParser.parse( arguments, pattern );
+		if ( values != null ) {
+			return values;
+		}
+		MapContext context = pattern == null ? null : new MapContext( MapUtil.newObjectMap( LiteralArgumentParser.PATTERN_VARIABLE, pattern ) );
+		return ExpressionResolver.resolveArguments( arguments, context );
+	}
+	
+	CacheableContent<String, Pattern> getPatternCaches() {
+		return patternCaches;
+	}
+	
 	private final CacheableContent<String, Pattern> patternCaches = new CacheableContent<String, Pattern>();
 	private final CacheableContent.Provider<String, Pattern> patternProvider = new CacheableContent.Provider<String, Pattern>() {
 		@Override
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.viiyue.plugins.validator.scripting.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Native parser of the literal arguments of the validation rule fragments,
+ * such as {@code max(32)}, {@code range(1L, 99L)}, {@code contains('a', "b")}
+ * and {@code pattern(/\d+/)}. The parsed values are exactly the same as
+ * those evaluated by JEXL:
+ * 
+ * <ul>
+ * <li>{@code 1}, {@code -1} - Integer, or Long if it is out of the int range
+ * <li>{@code 1L}, {@code 1l} - Long
+ * <li>{@code 1.5f}, {@code 1.5F} - Float
+ * <li>{@code 1.5}, {@code 1.5d}, {@code 1.5D} - Double
+ * <li>{@code true}, {@code false} - Boolean
+ * <li>{@code 'text'}, {@code "text"} - String, the escaped quote, backslash and
+ * <code>&#92;uXXXX</code> characters are unescaped, other backslashes are kept
+ * <li>{@code /regex/} - the compiled Pattern
+ * </ul>
+ * 
+ * <p>
+ * Any other argument, such as an octal or hexadecimal number or a real
+ * expression, is not parsed and left to JEXL.
+ * 
+ * @author tangxbai
+ * @since 1.0.5
+ */
+final class LiteralArgumentParser {
+	
+	// The variable placeholder of the regular expression
+	static final String PATTERN_VARIABLE = "pattern";
+	
+	private static final int MAX_LONG_DIGITS = 18; // Cannot overflow
+	
+	private LiteralArgumentParser() {}
+	
+	/**
+	 * Parse the arguments without whitespaces outside the strings
+	 * 
+	 * @param arguments the argument text between the parentheses
+	 * @param pattern the compiled regular expression of the pattern placeholder, may be null.
+	 * @return the parsed arguments, or {@code null} if any argument is not a literal.
+	 */
+	static Object [] parse( String arguments, Pattern pattern ) {
+		List<Object> values = new ArrayList<Object>( 4 );
+		int start = 0, length = arguments.length();
+		while ( start <= length ) {
+			int end = indexOfSeparator( arguments, start );
+			if ( end == -1 ) {
+				return null; // Unclosed string
+			}
+			String argument = arguments.substring( start, end );
+			if ( PATTERN_VARIABLE.equals( argument ) && pattern != null ) {
+				values.add( pattern );
+			} else {
+				Object value = parseLiteral( argument );
+				if ( value == null ) {
+					return null;
+				}
+				values.add( value );
+			}
+			start = end + 1;
+		}
+		return values.toArray();
+	}
+	
+	private static int indexOfSeparator( String arguments, int start ) {
+		char quote = 0;
+		for ( int i = start, length = arguments.length(); i < length; i ++ ) {
+			char c = arguments.charAt( i );
+			if ( quote != 0 ) {
+				if ( c == '\\' ) {
+					i ++; // Skip the escaped character
+				} else if ( c == quote ) {
+					quote = 0;
+				}
+			} else if ( c == '\'' || c == '"' ) {
+				quote = c;
+			} else if ( c == ',' ) {
+				return i;
+			}
+		}
+		return quote == 0 ? arguments.length() : -1;
+	}
+	
+	private static Object parseLiteral( String argument ) {
+		int length = argument.length();
+		if ( length == 0 ) {
+			return null;
+		}
+		char first = argument.charAt( 0 );
+		if ( first == '\'' || first == '"' ) {
+			if ( length < 2 || argument.charAt( length - 1 ) != first ) {
+				return null;
+			}
+			return unescape( argument, first );
+		}
+		if ( "true".equals( argument ) ) {
+			return Boolean.TRUE;
+		}
+		if ( "false".equals( argument ) ) {
+			return Boolean.FALSE;
+		}
+		return parseNumber( argument );
+	}
+	
+	private static String unescape( String argument, char quote ) {
+		int end = argument.length() - 1;
+		StringBuilder text = null;
+		for ( int i = 1; i < end; i ++ ) {
+			char c = argument.charAt( i );
+			if ( c == quote ) {
+				return null; // The quote is not escaped
+			}
+			if ( c != '\\' || i + 1 >= end ) {
+				if ( text != null ) {
+					text.append( c );
+				}
+				continue;
+			}
+			if ( text == null ) {
+				text = new StringBuilder( end ).append( argument, 1, i );
+			}
+			char next = argument.charAt( i + 1 );
+			if ( next == quote || next == '\\' ) {
+				text.append( next );
+				i ++;
+			} else if ( next == 'u' && i + 5 < end && isHex( argument, i + 2, i + 6 ) ) {
+				text.append( ( char ) Integer.parseInt( argument.substring( i + 2, i + 6 ), 16 ) );
+				i += 5;
+			} else {
+				text.append( c ); // Keep the backslash
+			}
+		}
+		return text == null ? argument.substring( 1, end ) : text.toString();
+	}
+	
+	private static boolean isHex( String text, int from, int to ) {
+		for ( int i = from; i < to; i ++ ) {
+			if ( Character.digit( text.charAt( i ), 16 ) == -1 ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static Object parseNumber( String argument ) {
+		int length = argument.length();
+		int start = argument.charAt( 0 ) == '-' ? 1 : 0;
+		char suffix = Character.toLowerCase( argument.charAt( length - 1 ) );
+		int end = suffix == 'l' || suffix == 'f' || suffix == 'd' ? length - 1 : length;
+		int integerDigits = 0, fractionDigits = -1;
+		for ( int i = start; i < end; i ++ ) {
+			char c = argument.charAt( i );
+			if ( c == '.' && fractionDigits == -1 ) {
+				fractionDigits = 0;
+			} else if ( c < '0' || c > '9' ) {
+				return null;
+			} else if ( fractionDigits == -1 ) {
+				integerDigits ++;
+			} else {
+				fractionDigits ++;
+			}
+		}
+		if ( integerDigits == 0 || fractionDigits == 0 ) {
+			return null;
+		}
+		String number = argument.substring( 0, end );
+		if ( fractionDigits > 0 ) {
+			if ( suffix == 'l' ) {
+				return null;
+			}
+			return suffix == 'f' ? ( Object ) Float.valueOf( number ) : ( Object ) Double.valueOf( number );
+		}
+		
+		// Integers with leading zeros are octal numbers
+		if ( suffix == 'f' || suffix == 'd' || integerDigits > MAX_LONG_DIGITS || ( integerDigits > 1 && argument.charAt( start ) == '0' ) ) {
+			return null;
+		}
+		long value = Long.parseLong( number );
+		if ( suffix == 'l' || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) {
+			return Long.valueOf( value );
+		}
+		return Integer.valueOf( ( int ) value );
+	}
+	
+}
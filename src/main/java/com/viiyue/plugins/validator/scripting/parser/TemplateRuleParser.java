@@ -29,6 +29,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.viiyue.plugins.validator.exception.ExpressionException;
 import com.viiyue.plugins.validator.metadata.Fragment;
+import com.viiyue.plugins.validator.metadata.FragmentInterner;
+import com.viiyue.plugins.validator.scripting.CacheableContent;
 import com.viiyue.plugins.validator.utils.ObjectUtil;
 import com.viiyue.plugins.validator.utils.StringAppender;
 
@@ -78,6 +80,33 @@ public final class TemplateRuleParser {
 		return this.strictMode;
 	}
 
+	/**
+	 * Limit the number of cached regular expressions of the parsers
+	 * 
+	 * @param maximumSize the maximum number of entries, unlimited if it is less than or equal to 0.
+	 * @since 1.0.5
+	 */
+	public void setMaximumCacheSize( int maximumSize ) {
+		for ( ContentParser parser : parsers ) {
+			if ( parser instanceof ArgumentContentParser ) {
+				( ( ArgumentContentParser ) parser ).getPatternCaches().setMaximumSize( maximumSize );
+			}
+		}
+	}
+	
+	/**
+	 * @return the statistics of the regular expression caches of the parsers
+	 * @since 1.0.5
+	 */
+	public CacheableContent.Statistics getCacheStatistics() {
+		for ( ContentParser parser : parsers ) {
+			if ( parser instanceof ArgumentContentParser ) {
+				return ( ( ArgumentContentParser ) parser ).getPatternCaches().getStatistics();
+			}
+		}
+		return null;
+	}
+	
 	public String clean( String input ) {
 		if ( input == null ) {
 			throw new ExpressionException( "Expression cannot be empty" );
@@ -89,8 +118,15 @@ public final class TemplateRuleParser {
 		return appendDelimiterIfMissing( input );
 	}
 	
+	/**
+	 * Parse the template into fragments, equal fragments are shared with
+	 * other templates and annotations through {@link FragmentInterner}.
+	 * 
+	 * @param input the cleaned rule template
+	 * @return the parsed fragments
+	 */
 	public List<Fragment> parse( String input ) {
-		return isStrictMode() ? parseByStrictMode( input ) : parseByLooseMode( input );
+		return FragmentInterner.intern( isStrictMode() ? parseByStrictMode( input ) : parseByLooseMode( input ) );
 	}
 
 	private List<Fragment> parseByStrictMode( String input ) {
@@ -15,8 +15,18 @@
  */
 package com.viiyue.plugins.validator.utils;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.util.Enumeration;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import org.apache.commons.lang3.ClassUtils;
 
@@ -66,4 +76,73 @@ public class ClassUtil {
 		return loader;
 	}
 
+	/**
+	 * Scan the names of all classes under the package and its sub packages,
+	 * both the class directories and the jar files are supported. The
+	 * anonymous classes and the package/module descriptors are skipped.
+	 * 
+	 * @param classLoader the class loader used to find the resources
+	 * @param basePackage the base package name, such as {@code com.example}
+	 * @return the class names in the order they are found
+	 * @since 1.0.5
+	 */
+	public static Set<String> getClassNames( ClassLoader classLoader, String basePackage ) {
+		final String packagePath = basePackage.replace( '.', '/' );
+		final Set<String> classNames = new LinkedHashSet<String>( 64 );
+		try {
+			Enumeration<URL> resources = classLoader.getResources( packagePath );
+			while ( resources.hasMoreElements() ) {
+				URL resource = resources.nextElement();
+				if ( "file".equals( resource.getProtocol() ) ) {
+					File directory = new File( URLDecoder.decode( resource.getFile(), "UTF-8" ) );
+					collectClassNames( directory, basePackage, classNames );
+				} else {
+					URLConnection connection = resource.openConnection();
+					if ( connection instanceof JarURLConnection ) {
+						collectClassNames( ( ( JarURLConnection ) connection ).getJarFile(), packagePath, classNames );
+					}
+				}
+			}
+		} catch ( IOException e ) {
+			throw new ReflectionException( "Unable to scan package \"{0}\" : {1}", basePackage, e.getMessage() );
+		}
+		return classNames;
+	}
+	
+	private static void collectClassNames( File directory, String packageName, Set<String> classNames ) throws UnsupportedEncodingException {
+		File [] files = directory.listFiles();
+		if ( files == null ) {
+			return;
+		}
+		for ( File file : files ) {
+			String fileName = file.getName();
+			if ( file.isDirectory() ) {
+				collectClassNames( file, packageName.isEmpty() ? fileName : packageName + "." + fileName, classNames );
+			} else if ( isClassFile( fileName ) ) {
+				String simpleName = fileName.substring( 0, fileName.length() - 6 );
+				classNames.add( packageName.isEmpty() ? simpleName : packageName + "." + simpleName );
+			}
+		}
+	}
+	
+	private static void collectClassNames( JarFile jarFile, String packagePath, Set<String> classNames ) {
+		String prefix = packagePath.isEmpty() ? packagePath : packagePath + "/";
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while ( entries.hasMoreElements() ) {
+			String entryName = entries.nextElement().getName();
+			if ( entryName.startsWith( prefix ) && isClassFile( entryName.substring( entryName.lastIndexOf( '/' ) + 1 ) ) ) {
+				classNames.add( entryName.substring( 0, entryName.length() - 6 ).replace( '/', '.' ) );
+			}
+		}
+	}
+	
+	private static boolean isClassFile( String fileName ) {
+		if ( !fileName.endsWith( ".class" ) || fileName.startsWith( "package-info" ) || fileName.startsWith( "module-info" ) ) {
+			return false;
+		}
+		// Skip anonymous classes, such as Foo$1.class
+		int index = fileName.lastIndexOf( '$' );
+		return index == -1 || index + 1 >= fileName.length() - 6 || !Character.isDigit( fileName.charAt( index + 1 ) );
+	}
+	
 }
@@ -16,46 +16,50 @@
 package com.viiyue.plugins.validator.utils;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.viiyue.plugins.validator.exception.ReflectionException;
 
 /**
- * Simple singleton tool class
+ * Simple singleton tool class, the singletons are attached to their classes
+ * and released together with the class loader.
  *
  * @author tangxbai
  * @since 1.0.0
  */
 public final class SingletonUtil {
 	
-	private static final ConcurrentMap<Class<?>, Future<Object>> singletons = new ConcurrentHashMap<Class<?>, Future<Object>>( 1 << 6 );
+	private static final ClassValue<AtomicReference<Future<Object>>> singletons = new ClassValue<AtomicReference<Future<Object>>>() {
+		@Override
+		protected AtomicReference<Future<Object>> computeValue( Class<?> beanType ) {
+			return new AtomicReference<Future<Object>>();
+		}
+	};
 	
 	public static <V> V getBean( final Class<V> beanType, final Object ... arguments ) {
-		Future<Object> future = singletons.get( beanType );
-		if ( future == null ) {
+		AtomicReference<Future<Object>> singleton = singletons.get( beanType );
+		Future<Object> future;
+		while ( ( future = singleton.get() ) == null ) {
 			FutureTask<Object> task = new FutureTask<Object>( new Callable<Object>() {
 				@Override
 				public Object call() throws Exception {
 					return BeanUtil.newInstance( beanType, arguments );
 				}
 			});
-			future = singletons.putIfAbsent( beanType, task );
-			if ( future == null ) {
-				future = task;
+			if ( singleton.compareAndSet( null, task ) ) {
 				task.run();
 			}
 		}
-		return ( V ) getTaskResult( beanType, future );
+		return ( V ) getTaskResult( singleton, future );
 	}
 	
-	private static <V> V getTaskResult( final Class<?> beanType, final Future<V> task ) {
+	private static Object getTaskResult( final AtomicReference<Future<Object>> singleton, final Future<Object> task ) {
 		try {
 			return task.get();
 		} catch ( Exception e ) {
-			singletons.remove( beanType );
+			singleton.compareAndSet( task, null );
 			throw new ReflectionException( e.getMessage(), e );
 		}
 	}
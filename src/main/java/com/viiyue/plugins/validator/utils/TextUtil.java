@@ -15,10 +15,10 @@
  */
 package com.viiyue.plugins.validator.utils;
 
-import java.io.UnsupportedEncodingException;
-
 import org.apache.commons.lang3.StringUtils;
 
+import com.viiyue.plugins.validator.scripting.configuration.LengthMetric;
+
 /**
  * This class provides some simple string processing functions
  *
@@ -56,11 +56,19 @@ public class TextUtil {
 	}
 	
 	public static int length( String value ) {
-		try {
-			return value == null ? 0 : value.getBytes( "GBK" ).length;
-		} catch ( UnsupportedEncodingException e ) {
-			return 0;
-		}
+		return length( value, LengthMetric.GBK_BYTES );
+	}
+	
+	/**
+	 * Measure the length of the text without allocating memory
+	 * 
+	 * @param value the target text
+	 * @param metric the way to measure the length
+	 * @return the length of the text, 0 if the text is null.
+	 * @since 1.0.5
+	 */
+	public static int length( CharSequence value, LengthMetric metric ) {
+		return value == null ? 0 : metric.length( value );
 	}
 	
 	public static boolean startsWith( String text, Object ... prefixs ) {